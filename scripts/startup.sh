@@ -0,0 +1,30 @@
+#!/bin/sh
+# Cold start to first answer for each way of launching the cli, days 1-4 part 1.
+# Build first with: ./gradlew jar appCds nativeImage (skip nativeImage without GraalVM)
+cd "$(dirname "$0")/../build/libs" || exit 1
+JAR=$(ls *.jar | head -n 1)
+RUNS=${RUNS:-5}
+
+measure() {
+  label=$1
+  shift
+  for day in 1 2 3 4; do
+    total=0
+    for run in $(seq "$RUNS"); do
+      start=$(date +%s%N)
+      "$@" -d "$day" -p 1 > /dev/null
+      end=$(date +%s%N)
+      total=$((total + (end - start) / 1000000))
+    done
+    echo "$label day $day: $((total / RUNS)) ms"
+  done
+}
+
+measure "jar" java -jar "$JAR"
+measure "tiered C1" java -XX:TieredStopAtLevel=1 -jar "$JAR"
+if [ -f aoc2018.jsa ]; then
+  measure "appcds" java -XX:SharedArchiveFile=aoc2018.jsa -jar "$JAR"
+fi
+if [ -x aoc2018 ]; then
+  measure "native" ./aoc2018
+fi
@@ -0,0 +1,68 @@
+package puzzles;
+
+import generator.InputGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query throughput of {@link BoxIdIndex} over generated day 2 box ids, each query an indexed id
+ * with one or two letters changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoxIdIndexBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int ids;
+
+  @Param({"1", "2", "3"})
+  public int distance;
+
+  private BoxIdIndex index;
+  private String[] queries;
+  private int next;
+  private int matches;
+
+  @Setup
+  public void setup() {
+    StringWriter input = new StringWriter();
+    Random random = new Random(1);
+    InputGenerator.generate(2, ids, random, new PrintWriter(input));
+    index = new BoxIdIndex(distance);
+    for (String id : input.toString().split("\n")) {
+      index.insert(id);
+    }
+
+    queries = new String[4096];
+    for (int i = 0; i < queries.length; i++) {
+      char[] id = index.get(random.nextInt(index.size())).toCharArray();
+      for (int change = 0; change <= random.nextInt(2); change++) {
+        id[random.nextInt(id.length)] = (char) ('a' + random.nextInt(26));
+      }
+      queries[i] = new String(id);
+    }
+  }
+
+  @Benchmark
+  public int query() {
+    matches = 0;
+    index.query(queries[next++ & (queries.length - 1)], (a, b, d) -> matches++);
+    return matches;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public BoxIdIndex build() {
+    BoxIdIndex built = new BoxIdIndex(distance);
+    for (int row = 0; row < index.size(); row++) {
+      built.insert(index.get(row));
+    }
+    return built;
+  }
+}
@@ -0,0 +1,41 @@
+package puzzles;
+
+import org.openjdk.jmh.annotations.*;
+import utils.InputCache;
+import utils.InputParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading each day's input, kept apart from the solve time in
+ * {@link PuzzleDayBenchmark}.  {@link PuzzleDay#getInput()} goes through the shared
+ * {@link InputCache} so it is measured both cold (straight from the file) and warm.  Day 11 has
+ * no input file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InputBenchmark {
+
+  @Param({"01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "12", "13", "14", "15"})
+  public String day;
+
+  private PuzzleDay puzzleDay;
+
+  @Setup
+  public void setup() {
+    puzzleDay = Puzzles.create(Integer.parseInt(day));
+  }
+
+  @Benchmark
+  public List<String> readInput() throws IOException {
+    return InputParser.getInputStrings(puzzleDay.inputFileName);
+  }
+
+  @Benchmark
+  public List<String> cachedInput() {
+    return puzzleDay.getInput();
+  }
+}
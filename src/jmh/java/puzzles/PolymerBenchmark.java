@@ -0,0 +1,71 @@
+package puzzles;
+
+import generator.InputGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day 5's stack reactor against the regex fixed point it replaced, on generated polymers.  Each
+ * invocation reacts a fresh polymer, so this measures single shots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PolymerBenchmark {
+
+  @Param({"100000", "1000000", "10000000"})
+  public int units;
+
+  private String polymer;
+  private byte[] bytes;
+  private byte[] scratch;
+
+  @Setup
+  public void setup() {
+    StringWriter input = new StringWriter();
+    InputGenerator.generate(5, units, new Random(1), new PrintWriter(input));
+    polymer = input.toString().trim();
+    bytes = new byte[polymer.length()];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) polymer.charAt(i);
+    }
+    scratch = new byte[bytes.length];
+  }
+
+  @Benchmark
+  public int stack() {
+    System.arraycopy(bytes, 0, scratch, 0, bytes.length);
+    return Day05.react(scratch, bytes.length);
+  }
+
+  @Benchmark
+  public int regex() {
+    String regex = legacyPattern();
+    String lastValue = "";
+    String curValue = polymer;
+    while (!lastValue.equals(curValue)) {
+      lastValue = curValue;
+      curValue = curValue.replaceAll(regex, "");
+    }
+    return curValue.length();
+  }
+
+  /**
+   * the pattern Day05 used to rebuild on every pass
+   */
+  private static String legacyPattern() {
+    List<String> parts = new ArrayList<>();
+    for (char lower = 'a'; lower <= 'z'; lower++) {
+      char upper = Character.toUpperCase(lower);
+      parts.add("" + lower + upper);
+      parts.add("" + upper + lower);
+    }
+    return String.join("|", parts);
+  }
+}
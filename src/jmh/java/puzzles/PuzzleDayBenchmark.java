@@ -0,0 +1,52 @@
+package puzzles;
+
+import org.openjdk.jmh.annotations.*;
+import utils.InputCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for one call of a day's solvePart1/solvePart2.  With a cold cache that includes reading
+ * and parsing the input, with a warm one only what the solver does past its cached models; see
+ * {@link InputBenchmark} for the cost of reading the resources alone.
+ *
+ * run with: ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PuzzleDayBenchmark {
+
+  @Param({"01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11", "12", "13", "14",
+          "15"})
+  public String day;
+
+  @Param({"1", "2"})
+  public int part;
+
+  private PuzzleDay puzzleDay;
+
+  /**
+   * cold drops everything parsed before each call, warm leaves it in the shared cache (where
+   * some days keep models that are nearly the answer)
+   */
+  @Param({"cold", "warm"})
+  public String cache;
+
+  @Setup
+  public void setup() {
+    puzzleDay = Puzzles.create(Integer.parseInt(day));
+  }
+
+  @Setup(Level.Invocation)
+  public void clearCache() {
+    if (cache.equals("cold")) {
+      InputCache.SHARED.clear();
+    }
+  }
+
+  @Benchmark
+  public Result solve() {
+    return part == 1 ? puzzleDay.solvePart1() : puzzleDay.solvePart2();
+  }
+}
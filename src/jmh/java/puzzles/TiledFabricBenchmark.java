@@ -0,0 +1,52 @@
+package puzzles;
+
+import generator.InputGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of day 3's tiled rasterization from 1 to N worker threads, over generated claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TiledFabricBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  @Param({"200000"})
+  public int claims;
+
+  private File input;
+  private Day03 day;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setup() throws IOException {
+    input = File.createTempFile("day03-", ".txt");
+    try (PrintWriter out = new PrintWriter(input, "UTF-8")) {
+      InputGenerator.generate(3, claims, new Random(1), out);
+    }
+    day = new Day03();
+    day.setInputFileName(input.getAbsolutePath());
+    pool = new ForkJoinPool(threads);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+    input.delete();
+  }
+
+  @Benchmark
+  public long rasterize() {
+    return day.rasterizeTiles(pool).overclaimed;
+  }
+}
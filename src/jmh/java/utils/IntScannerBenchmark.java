@@ -0,0 +1,65 @@
+package utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link IntScanner} against the regex + Integer.parseInt(group) parsing the days used to do,
+ * over the claims of day 3 and the stars of day 10.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IntScannerBenchmark {
+
+  @Param({"day03.txt", "day10.txt"})
+  public String input;
+
+  private List<String> lines;
+  private String regex;
+  private int fields;
+  private int[] values;
+
+  @Setup
+  public void setup() throws IOException {
+    lines = InputParser.getInputStrings(input);
+    if(input.equals("day03.txt")){
+      regex = "#(\\d*) @ (\\d*),(\\d*): (\\d*)x(\\d*)";
+      fields = 5;
+    }else{
+      regex = "position=< ?(-?\\d*),  ?(-?\\d*)> velocity=< ?(-?\\d*),  ?(-?\\d*)>";
+      fields = 4;
+    }
+    values = new int[lines.size() * fields];
+  }
+
+  @Benchmark
+  public int[] regex() {
+    Pattern pattern = Pattern.compile(regex);
+    int i = 0;
+    for(String line : lines){
+      Matcher matcher = pattern.matcher(line);
+      if(matcher.find()){
+        for(int group = 1; group <= fields; group++){
+          values[i++] = Integer.parseInt(matcher.group(group));
+        }
+      }
+    }
+    return values;
+  }
+
+  @Benchmark
+  public int[] scanner() {
+    IntScanner scanner = new IntScanner();
+    int i = 0;
+    for(String line : lines){
+      i += scanner.reset(line).nextInts(values, i, fields);
+    }
+    return values;
+  }
+}
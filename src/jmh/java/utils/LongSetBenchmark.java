@@ -0,0 +1,94 @@
+package utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds 10^7 values, a random walk like day 1's frequencies, to a boxed HashSet and to the
+ * primitive sets, then looks every one of them up again.  The off heap bitmap only takes a
+ * dense range, so it is measured on the walk alone, see {@link Bitmap}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LongSetBenchmark {
+
+  private static final int ENTRIES = 10_000_000;
+
+  @Param({"walk", "random"})
+  public String values;
+
+  private long[] keys;
+
+  @Setup
+  public void setup() {
+    keys = keys(values.equals("walk"));
+  }
+
+  @Benchmark
+  public int hashSet() {
+    Set<Long> set = new HashSet<>();
+    for (long key : keys) {
+      set.add(key);
+    }
+    int found = 0;
+    for (long key : keys) {
+      if (set.contains(key)) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int openHashSet() {
+    return fill(new LongOpenHashSet(), keys);
+  }
+
+  /**
+   * Random longs would need a bitmap spanning the whole long range, so this one has no values
+   * param and always adds the walk.
+   */
+  @State(Scope.Thread)
+  public static class Bitmap {
+    private long[] keys;
+
+    @Setup
+    public void setup() {
+      keys = keys(true);
+    }
+
+    @Benchmark
+    public int offHeapBitmap() {
+      return fill(new OffHeapBitmapSet(), keys);
+    }
+  }
+
+  private static long[] keys(boolean walk) {
+    Random random = new Random(1);
+    long[] keys = new long[ENTRIES];
+    long value = 0;
+    for (int i = 0; i < ENTRIES; i++) {
+      value = walk ? value + random.nextInt(2001) - 1000 : random.nextLong();
+      keys[i] = value;
+    }
+    return keys;
+  }
+
+  private static int fill(LongSet set, long[] keys) {
+    for (long key : keys) {
+      set.add(key);
+    }
+    int found = 0;
+    for (long key : keys) {
+      if (set.contains(key)) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
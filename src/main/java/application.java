@@ -1,15 +1,33 @@
 import org.apache.commons.cli.*;
-import puzzles.PuzzleDay;
+import puzzles.Puzzles;
+import puzzles.TraceSink;
+import runner.BatchRunner;
+import runner.MetricsReport;
+import runner.PuzzleTask;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 public class application {
 
 
   public static void main(String[] args) {
     Options options = new Options();
-    options.addRequiredOption("d", "day", true, "day of puzzle to run");
-    options.addRequiredOption("p", "part", true, "part of puzzle to run");
+    options.addRequiredOption("d", "day", true, "day of puzzle to run, a list like 1,3,5-7 or all");
+    options.addRequiredOption("p", "part", true, "part of puzzle to run, 1, 2 or all");
+    options.addOption("t", "trace", false, "print intermediate output while solving");
+    options.addOption("j", "threads", true, "number of threads for running several puzzles");
+    options.addOption("v", "virtual", false, "run several puzzles on virtual threads (jdk 21+)");
+    options.addOption("m", "metrics", true, "record phase timings and allocations, csv or json");
+    options.addOption("o", "metrics-file", true, "write metrics to this file instead of stdout");
 
     CommandLineParser parser = new DefaultParser();
     CommandLine cmd;
@@ -21,8 +39,39 @@ public class application {
       return;
     }
 
+    List<PuzzleTask> tasks = new ArrayList<>();
     try {
-      runPuzzle(Integer.parseInt(cmd.getOptionValue("d")), Integer.parseInt(cmd.getOptionValue("p")));
+      for(Integer day : parseSelection(cmd.getOptionValue("d"), Puzzles.days())){
+        for(Integer part : parseSelection(cmd.getOptionValue("p"), Arrays.asList(1, 2))){
+          if(part != 1 && part != 2){
+            System.err.println("Invalid part option: " + part);
+            System.exit(-1);
+          }
+          PuzzleTask task = new PuzzleTask(day, part);
+          if(cmd.hasOption("t")){
+            task.setTraceSink(TraceSink.STDOUT);
+          }
+          if(cmd.hasOption("m")){
+            task.recordPhases();
+          }
+          tasks.add(task);
+        }
+      }
+    } catch (NumberFormatException e) {
+      System.err.println( "Parsing options: " + e.getMessage() );
+      System.exit(-1);
+      return;
+    }
+
+    try {
+      if(tasks.size() == 1){
+        runPuzzle(tasks.get(0));
+      }else{
+        runBatch(tasks, cmd);
+      }
+      if(cmd.hasOption("m")){
+        writeMetrics(tasks, cmd.getOptionValue("m"), cmd.getOptionValue("o"));
+      }
     } catch (Exception e) {
       System.err.println( "Error loading puzzle: " + e.getMessage() );
       System.exit(-1);
@@ -30,28 +79,66 @@ public class application {
 
   }
 
-  private static void runPuzzle(Integer day, Integer part) throws ClassNotFoundException,
-          NoSuchMethodException, IllegalAccessException, InvocationTargetException,
-          InstantiationException {
-    Class<?> puzzleClass = Class.forName("puzzles.Day" + String.format("%02d", day));
+  /**
+   * @param value "all", or a comma separated list of numbers and ranges (1,3,5-7)
+   */
+  private static List<Integer> parseSelection(String value, List<Integer> all){
+    if(value.equalsIgnoreCase("all")){
+      return all;
+    }
+    List<Integer> selection = new ArrayList<>();
+    for(String item : value.split(",")){
+      String[] range = item.trim().split("-");
+      int from = Integer.parseInt(range[0].trim());
+      int to = range.length > 1 ? Integer.parseInt(range[1].trim()) : from;
+      for(int i = from; i <= to; i++){
+        selection.add(i);
+      }
+    }
+    return selection;
+  }
 
+  private static void runBatch(List<PuzzleTask> tasks, CommandLine cmd) throws
+          InterruptedException {
+    ExecutorService executor;
+    if(cmd.hasOption("v")){
+      executor = BatchRunner.virtualThreads();
+    }else{
+      int threads = cmd.hasOption("j") ? Integer.parseInt(cmd.getOptionValue("j"))
+              : Runtime.getRuntime().availableProcessors();
+      executor = BatchRunner.forkJoinPool(threads);
+    }
 
-    PuzzleDay puzzleDay = (PuzzleDay) puzzleClass.getConstructor().newInstance();
+    BatchRunner batchRunner = new BatchRunner(executor);
     try {
-      switch (part) {
-        case 1:
-          puzzleDay.solvePart1();
-          break;
-        case 2:
-          puzzleDay.solvePart2();
-          break;
-        default:
-          System.err.println("Invalid part option: " + part);
-          System.exit(-1);
-      }
-    } catch (Exception e){
+      batchRunner.report(batchRunner.run(tasks), System.out);
+    } finally {
+      batchRunner.shutdown();
+    }
+  }
+
+  private static void runPuzzle(PuzzleTask task) {
+    task.call();
+    if(task.getError() != null){
       System.err.println("Exception thrown in puzzle");
-      e.printStackTrace();
+      task.getError().printStackTrace();
+      return;
+    }
+    System.out.println(task.getResult());
+  }
+
+  private static void writeMetrics(List<PuzzleTask> tasks, String format, String file) throws
+          IOException {
+    OutputStream outputStream = file == null ? System.out : new FileOutputStream(file);
+    PrintWriter writer = new PrintWriter(new OutputStreamWriter(outputStream,
+            StandardCharsets.UTF_8));
+    if(format.equalsIgnoreCase("json")){
+      MetricsReport.writeJson(tasks, writer);
+    }else{
+      MetricsReport.writeCsv(tasks, writer);
+    }
+    if(file != null){
+      writer.close();
     }
   }
 }
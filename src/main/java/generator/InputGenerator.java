@@ -0,0 +1,442 @@
+package generator;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates valid puzzle inputs of any size, for stress testing how the solvers scale past the
+ * bundled inputs.  What size means depends on the day:
+ *
+ * 1: frequency changes     2: box ids              3: claims           4: nights of guard logs
+ * 5: polymer units         6: coordinates          7: steps (max 26)   8: tree nodes
+ * 9: last marble           10: stars               12: initial pots    13: carts
+ * 14: recipe count         15: cave width/height
+ *
+ * Day 11 has no input, its serial number is part of the solver.
+ *
+ * usage: InputGenerator day size [seed] [outputFile]
+ */
+public class InputGenerator {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: InputGenerator day size [seed] [outputFile]");
+      System.exit(-1);
+    }
+    int day = Integer.parseInt(args[0]);
+    int size = Integer.parseInt(args[1]);
+    Random random = args.length > 2 ? new Random(Long.parseLong(args[2])) : new Random();
+
+    PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+            args.length > 3 ? new FileOutputStream(args[3]) : System.out,
+            StandardCharsets.UTF_8), 1 << 16));
+    try {
+      generate(day, size, random, out);
+    } finally {
+      out.flush();
+      if (args.length > 3) {
+        out.close();
+      }
+    }
+  }
+
+  public static void generate(int day, int size, Random random, PrintWriter out) {
+    switch (day) {
+      case 1:
+        day01(size, random, out);
+        break;
+      case 2:
+        day02(size, random, out);
+        break;
+      case 3:
+        day03(size, random, out);
+        break;
+      case 4:
+        day04(size, random, out);
+        break;
+      case 5:
+        day05(size, random, out);
+        break;
+      case 6:
+        day06(size, random, out);
+        break;
+      case 7:
+        day07(size, random, out);
+        break;
+      case 8:
+        day08(size, random, out);
+        break;
+      case 9:
+        day09(size, random, out);
+        break;
+      case 10:
+        day10(size, random, out);
+        break;
+      case 12:
+        day12(size, random, out);
+        break;
+      case 13:
+        day13(size, random, out);
+        break;
+      case 14:
+        out.println(size);
+        break;
+      case 15:
+        day15(size, random, out);
+        break;
+      default:
+        throw new UnsupportedOperationException("no input generator for day " + day);
+    }
+  }
+
+  /**
+   * frequency changes with a small positive drift like the real inputs, so a repeat is found
+   * after a reasonable number of passes
+   */
+  public static void day01(int size, Random random, PrintWriter out) {
+    long sum = 0;
+    for (int i = 0; i < size - 1; i++) {
+      int delta = random.nextInt(200000) - 100000;
+      delta = delta == 0 ? 1 : delta;
+      sum += delta;
+      out.println(delta > 0 ? "+" + delta : Integer.toString(delta));
+    }
+    long last = 1 + random.nextInt(1000) - sum;
+    out.println(last > 0 ? "+" + last : Long.toString(last));
+  }
+
+  /**
+   * random 26 letter ids plus one pair that differs by a single character
+   */
+  public static void day02(int size, Random random, PrintWriter out) {
+    int pairIndex = random.nextInt(Math.max(size - 1, 1));
+    for (int i = 0; i < size; i++) {
+      if (i == pairIndex && i + 1 < size) {
+        char[] id = randomLetters(26, random);
+        out.println(id);
+        int column = random.nextInt(id.length);
+        id[column] = (char) ('a' + (id[column] - 'a' + 1 + random.nextInt(25)) % 26);
+        out.println(id);
+        i++;
+      } else {
+        out.println(randomLetters(26, random));
+      }
+    }
+  }
+
+  /**
+   * claims (rounded up to an odd count) come in overlapping pairs so exactly one claim, kept in
+   * its own strip at the left edge of the fabric, does not overlap anything
+   */
+  public static void day03(int size, Random random, PrintWriter out) {
+    int side = Math.max(1000, (int) Math.sqrt(size) * 30);
+    int strip = 40;
+    out.println("#1 @ " + random.nextInt(10) + "," + random.nextInt(side - 30) + ": "
+            + (1 + random.nextInt(29)) + "x" + (1 + random.nextInt(29)));
+    for (int id = 2; id <= size; id += 2) {
+      int x = strip + random.nextInt(side - strip - 60);
+      int y = random.nextInt(side - 60);
+      int width = 1 + random.nextInt(29);
+      int height = 1 + random.nextInt(29);
+      out.println("#" + id + " @ " + x + "," + y + ": " + width + "x" + height);
+      int otherX = x + random.nextInt(width);
+      int otherY = y + random.nextInt(height);
+      out.println("#" + (id + 1) + " @ " + otherX + "," + otherY + ": "
+              + (1 + random.nextInt(29)) + "x" + (1 + random.nextInt(29)));
+    }
+  }
+
+  /**
+   * one shift per night for a pool of guards, lines shuffled like the real input
+   */
+  public static void day04(int size, Random random, PrintWriter out) {
+    int guardCount = Math.max(10, size / 20);
+    Set<Integer> guardIdSet = new HashSet<>();
+    while (guardIdSet.size() < guardCount) {
+      guardIdSet.add(1 + random.nextInt(Math.max(10000, guardCount * 4)));
+    }
+    List<Integer> guardIds = new ArrayList<>(guardIdSet);
+
+    List<String> lines = new ArrayList<>(size * 5);
+    LocalDate date = LocalDate.of(1518, 1, 1);
+    for (int night = 0; night < size; night++) {
+      int guard = guardIds.get(random.nextInt(guardIds.size()));
+      if (random.nextBoolean()) {
+        lines.add("[" + date.minusDays(1) + " 23:" + (50 + random.nextInt(10)) + "] Guard #"
+                + guard + " begins shift");
+      } else {
+        lines.add("[" + date + " 00:0" + random.nextInt(5) + "] Guard #" + guard
+                + " begins shift");
+      }
+      int minute = 5 + random.nextInt(10);
+      while (minute < 58 && random.nextInt(4) != 0) {
+        int wake = minute + 1 + random.nextInt(Math.min(20, 59 - minute));
+        lines.add("[" + date + " 00:" + twoDigits(minute) + "] falls asleep");
+        lines.add("[" + date + " 00:" + twoDigits(wake) + "] wakes up");
+        minute = wake + 1 + random.nextInt(5);
+      }
+      date = date.plusDays(1);
+    }
+    Collections.shuffle(lines, random);
+    lines.forEach(out::println);
+  }
+
+  public static void day05(int size, Random random, PrintWriter out) {
+    StringBuilder polymer = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      char unit = (char) ('a' + random.nextInt(26));
+      polymer.append(random.nextBoolean() ? Character.toUpperCase(unit) : unit);
+    }
+    out.println(polymer);
+  }
+
+  public static void day06(int size, Random random, PrintWriter out) {
+    int extent = 100 + (int) (Math.sqrt(size) * 20);
+    Set<Long> used = new HashSet<>();
+    while (used.size() < size) {
+      int x = random.nextInt(extent);
+      int y = random.nextInt(extent);
+      if (used.add(((long) x << 32) | y)) {
+        out.println(x + ", " + y);
+      }
+    }
+  }
+
+  /**
+   * random dag over the first size letters, every step is part of at least one edge
+   */
+  public static void day07(int size, Random random, PrintWriter out) {
+    int steps = Math.max(2, Math.min(26, size));
+    List<Character> order = new ArrayList<>();
+    for (int i = 0; i < steps; i++) {
+      order.add((char) ('A' + i));
+    }
+    Collections.shuffle(order, random);
+    Set<String> edges = new HashSet<>();
+    for (int i = 1; i < steps; i++) {
+      edges.add(order.get(random.nextInt(i)) + "" + order.get(i));
+    }
+    for (int extra = 0; extra < steps * 3; extra++) {
+      int a = random.nextInt(steps - 1);
+      int b = a + 1 + random.nextInt(steps - 1 - a);
+      edges.add(order.get(a) + "" + order.get(b));
+    }
+    List<String> lines = new ArrayList<>();
+    for (String edge : edges) {
+      lines.add("Step " + edge.charAt(0) + " must be finished before step " + edge.charAt(1)
+              + " can begin.");
+    }
+    Collections.shuffle(lines, random);
+    lines.forEach(out::println);
+  }
+
+  /**
+   * random recursive tree (each node's parent is any earlier node) so the depth stays
+   * logarithmic, written in pre-order on one line
+   */
+  public static void day08(int size, Random random, PrintWriter out) {
+    int[] childCount = new int[size];
+    int[] parent = new int[size];
+    for (int node = 1; node < size; node++) {
+      parent[node] = random.nextInt(node);
+      childCount[parent[node]]++;
+    }
+    //children of each node as ranges in one array
+    int[] childStart = new int[size + 1];
+    for (int node = 0; node < size; node++) {
+      childStart[node + 1] = childStart[node] + childCount[node];
+    }
+    int[] children = new int[Math.max(size - 1, 0)];
+    int[] fill = new int[size];
+    for (int node = 1; node < size; node++) {
+      children[childStart[parent[node]] + fill[parent[node]]++] = node;
+    }
+
+    StringBuilder line = new StringBuilder();
+    int[] stack = new int[size];
+    int[] nextChild = new int[size];
+    int depth = 0;
+    stack[0] = 0;
+    int[] metaCount = new int[size];
+    metaCount[0] = 1 + random.nextInt(11);
+    line.append(childCount[0]).append(' ').append(metaCount[0]);
+    while (depth >= 0) {
+      int node = stack[depth];
+      if (nextChild[node] < childCount[node]) {
+        int child = children[childStart[node] + nextChild[node]++];
+        metaCount[child] = 1 + random.nextInt(11);
+        line.append(' ').append(childCount[child]).append(' ').append(metaCount[child]);
+        stack[++depth] = child;
+      } else {
+        for (int i = 0; i < metaCount[node]; i++) {
+          line.append(' ').append(1 + random.nextInt(9));
+        }
+        depth--;
+      }
+    }
+    out.println(line);
+  }
+
+  public static void day09(int size, Random random, PrintWriter out) {
+    out.println((10 + random.nextInt(450)) + " players; last marble is worth " + size
+            + " points");
+  }
+
+  /**
+   * stars that line up into a 10 row block pattern after 10000 or so seconds
+   */
+  public static void day10(int size, Random random, PrintWriter out) {
+    int width = Math.max(8, Math.min(size / 5, 400));
+    int seconds = 10000 + random.nextInt(1000);
+    for (int i = 0; i < size; i++) {
+      int x = random.nextInt(width);
+      int y = random.nextInt(10);
+      int vx = random.nextInt(11) - 5;
+      int vy = random.nextInt(11) - 5;
+      if (vx == 0 && vy == 0) {
+        vx = random.nextBoolean() ? 1 : -1;
+      }
+      out.println(String.format("position=<%6d, %6d> velocity=<%2d, %2d>", x - vx * seconds,
+              y - vy * seconds, vx, vy));
+    }
+  }
+
+  /**
+   * every 5 pot pattern gets a rule copying one neighbour, so the plants drift one pot per
+   * generation and the sum settles into the linear growth part 2 extrapolates
+   */
+  public static void day12(int size, Random random, PrintWriter out) {
+    StringBuilder pots = new StringBuilder(size);
+    pots.append('#');
+    for (int i = 1; i < size; i++) {
+      pots.append(random.nextBoolean() ? '#' : '.');
+    }
+    out.println("initial state: " + pots);
+    out.println();
+    int neighbourBit = random.nextBoolean() ? 1 : 3;
+    for (int pattern = 0; pattern < 32; pattern++) {
+      StringBuilder rule = new StringBuilder();
+      for (int bit = 4; bit >= 0; bit--) {
+        rule.append((pattern >> bit & 1) == 1 ? '#' : '.');
+      }
+      out.println(rule + " => " + ((pattern >> neighbourBit & 1) == 1 ? '#' : '.'));
+    }
+  }
+
+  /**
+   * Carts rounded down to an odd count.  A grid of tiles, each holding one loop of track with
+   * two carts heading towards each other, plus one tile with a single cart.  The loops never
+   * cross, so every pair is guaranteed to collide and part 2 always ends with the single cart.
+   */
+  public static void day13(int size, Random random, PrintWriter out) {
+    int tile = 12;
+    int tileCount = (size - 1) / 2 + 1;
+    int tilesPerRow = (int) Math.ceil(Math.sqrt(tileCount));
+    int rows = (int) Math.ceil(tileCount / (double) tilesPerRow);
+    char[][] map = new char[rows * tile][tilesPerRow * tile];
+    for (char[] row : map) {
+      Arrays.fill(row, ' ');
+    }
+
+    for (int t = 0; t < tileCount; t++) {
+      int left = (t % tilesPerRow) * tile + random.nextInt(3);
+      int top = (t / tilesPerRow) * tile + random.nextInt(3);
+      int right = left + 5 + random.nextInt(tile - 7 - (left % tile));
+      int bottom = top + 5 + random.nextInt(tile - 7 - (top % tile));
+      for (int x = left + 1; x < right; x++) {
+        map[top][x] = '-';
+        map[bottom][x] = '-';
+      }
+      for (int y = top + 1; y < bottom; y++) {
+        map[y][left] = '|';
+        map[y][right] = '|';
+      }
+      map[top][left] = '/';
+      map[top][right] = '\\';
+      map[bottom][left] = '\\';
+      map[bottom][right] = '/';
+
+      //clockwise on the top, counter clockwise on the bottom
+      map[top][left + 1 + random.nextInt(right - left - 1)] = '>';
+      if (t > 0) {
+        map[bottom][left + 1 + random.nextInt(right - left - 1)] = '>';
+      }
+    }
+    for (char[] row : map) {
+      out.println(row);
+    }
+  }
+
+  /**
+   * A walled cave carved by a random walk so every open square is reachable, with goblins and
+   * elves scattered over about 3% of it.
+   */
+  public static void day15(int size, Random random, PrintWriter out) {
+    int side = Math.max(7, size);
+    char[][] cave = new char[side][side];
+    for (char[] row : cave) {
+      Arrays.fill(row, '#');
+    }
+    int inner = (side - 2) * (side - 2);
+    int open = 0;
+    int x = side / 2;
+    int y = side / 2;
+    while (open < inner * 6 / 10) {
+      if (cave[y][x] == '#') {
+        cave[y][x] = '.';
+        open++;
+      }
+      switch (random.nextInt(4)) {
+        case 0:
+          x = Math.min(side - 2, x + 1);
+          break;
+        case 1:
+          x = Math.max(1, x - 1);
+          break;
+        case 2:
+          y = Math.min(side - 2, y + 1);
+          break;
+        default:
+          y = Math.max(1, y - 1);
+      }
+    }
+    int units = Math.max(2, open * 3 / 100);
+    boolean elf = true;
+    while (units > 0) {
+      int ux = 1 + random.nextInt(side - 2);
+      int uy = 1 + random.nextInt(side - 2);
+      if (cave[uy][ux] == '.') {
+        cave[uy][ux] = elf ? 'E' : 'G';
+        elf = !elf;
+        units--;
+      }
+    }
+    for (char[] row : cave) {
+      out.println(row);
+    }
+  }
+
+  private static char[] randomLetters(int length, Random random) {
+    char[] letters = new char[length];
+    for (int i = 0; i < length; i++) {
+      letters[i] = (char) ('a' + random.nextInt(26));
+    }
+    return letters;
+  }
+
+  private static String twoDigits(int value) {
+    return value < 10 ? "0" + value : Integer.toString(value);
+  }
+}
@@ -0,0 +1,164 @@
+package puzzles;
+
+import utils.LongIntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every pair of box ids within Hamming distance k, as ids are added.
+ *
+ * Pigeonhole multi-index: an id of length L is cut into k + 1 segments, and two ids that differ
+ * in at most k positions must agree on at least one whole segment.  Each segment position has a
+ * hash table from segment hash to the rows holding it, so a lookup only compares against ids
+ * sharing a segment instead of against everything.  Buckets are chained through a primitive
+ * next array, nothing is boxed per id.
+ */
+public class BoxIdIndex {
+
+  private static final long HASH_BASE = 1_000_003;
+
+  /**
+   * Receives matches as they are found.  a is always the row that was in the index first.
+   */
+  public interface PairConsumer {
+    void accept(int a, int b, int distance);
+  }
+
+  private final int maxDistance;
+  private final List<String> ids = new ArrayList<>();
+  private final Map<Integer, LengthIndex> byLength = new HashMap<>();
+
+  public BoxIdIndex(int maxDistance) {
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("distance must not be negative: " + maxDistance);
+    }
+    this.maxDistance = maxDistance;
+  }
+
+  /**
+   * report every indexed id within the distance of this one, then add it
+   *
+   * @return the new id's row
+   */
+  public int insert(String id, PairConsumer matches) {
+    int row = ids.size();
+    LengthIndex index = byLength.computeIfAbsent(id.length(), LengthIndex::new);
+    long[] keys = index.keys(id);
+    index.query(id, keys, row, matches);
+    ids.add(id);
+    index.add(row, keys);
+    return row;
+  }
+
+  public int insert(String id) {
+    return insert(id, (a, b, distance) -> {});
+  }
+
+  /**
+   * report every indexed id within the distance of this one without adding it, the match's b is
+   * -1
+   */
+  public void query(String id, PairConsumer matches) {
+    LengthIndex index = byLength.get(id.length());
+    if (index != null) {
+      index.query(id, index.keys(id), -1, matches);
+    }
+  }
+
+  public String get(int row) {
+    return ids.get(row);
+  }
+
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * @return positions the two ids differ at, or more than limit once that is certain
+   */
+  static int distance(String a, String b, int limit) {
+    int distance = 0;
+    for (int i = 0; i < a.length() && distance <= limit; i++) {
+      if (a.charAt(i) != b.charAt(i)) {
+        distance++;
+      }
+    }
+    return distance;
+  }
+
+  /**
+   * the segment tables for ids of one length
+   */
+  private class LengthIndex {
+    final int[] bounds;
+    final LongIntOpenHashMap[] heads;
+    int[][] next;
+
+    LengthIndex(int length) {
+      //ids shorter than k + 1 are always within k of each other, one empty segment matches all
+      int segments = length > maxDistance ? maxDistance + 1 : 1;
+      bounds = new int[segments + 1];
+      for (int s = 0; s <= segments; s++) {
+        bounds[s] = length > maxDistance ? length * s / segments : 0;
+      }
+      heads = new LongIntOpenHashMap[segments];
+      next = new int[segments][];
+      for (int s = 0; s < segments; s++) {
+        heads[s] = new LongIntOpenHashMap();
+        next[s] = new int[16];
+      }
+    }
+
+    long[] keys(String id) {
+      long[] keys = new long[heads.length];
+      for (int s = 0; s < heads.length; s++) {
+        long hash = s + 1;
+        for (int i = bounds[s]; i < bounds[s + 1]; i++) {
+          hash = hash * HASH_BASE + id.charAt(i);
+        }
+        keys[s] = hash;
+      }
+      return keys;
+    }
+
+    void query(String id, long[] keys, int row, PairConsumer matches) {
+      for (int s = 0; s < heads.length; s++) {
+        int candidate = heads[s].get(keys[s]);
+        while (candidate != LongIntOpenHashMap.NO_VALUE) {
+          String other = ids.get(candidate);
+          //a pair sharing several segments is only reported from the first one
+          if (firstSharedSegment(id, other) == s) {
+            int distance = distance(id, other, maxDistance);
+            if (distance <= maxDistance) {
+              matches.accept(candidate, row, distance);
+            }
+          }
+          candidate = next[s][candidate];
+        }
+      }
+    }
+
+    void add(int row, long[] keys) {
+      for (int s = 0; s < heads.length; s++) {
+        if (row >= next[s].length) {
+          next[s] = Arrays.copyOf(next[s], Math.max(next[s].length * 2, row + 1));
+        }
+        //ids arrive with increasing rows, so each key's head is its newest row
+        next[s][row] = heads[s].put(keys[s], row);
+      }
+    }
+
+    private int firstSharedSegment(String a, String b) {
+      for (int s = 0; s < heads.length; s++) {
+        if (a.regionMatches(bounds[s], b, bounds[s], bounds[s + 1] - bounds[s])) {
+          return s;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -1,12 +1,20 @@
 package puzzles;
 
-import utils.InputParser;
+import utils.LineCursor;
+import utils.LongIntOpenHashMap;
+import utils.RadixSort;
 
-import java.util.HashSet;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class Day01 extends PuzzleDay {
 
+  /** inputs are parsed in pieces of about this size on the common fork/join pool */
+  private static final int CHUNK_BYTES = 1 << 18;
+
   /**
    * --- Day 1: Chronal Calibration ---
    * "We've detected some temporal anomalies," one of Santa's Elves at the Temporal Anomaly
@@ -53,14 +61,69 @@ public class Day01 extends PuzzleDay {
    * frequency have been applied?
    */
   @Override
-  public void solvePart1() {
-    int frequency = 0;
+  public Result solvePart1() {
+    List<LineCursor> chunks = chunks(getInputRegions());
+    long frequency = timed("sum", () -> chunks.parallelStream().mapToLong(Day01::sum).sum());
+
+    return new Result(frequency);
+  }
 
-    for ( String line : getInput()){
-      frequency += Integer.parseInt(line);
+  /**
+   * cursors over pieces of about CHUNK_BYTES, in input order, across every mapped region
+   */
+  private static List<LineCursor> chunks(ByteBuffer[] regions) {
+    List<LineCursor> chunks = new ArrayList<>();
+    for (ByteBuffer region : regions) {
+      int[] bounds = LineCursor.split(region, CHUNK_BYTES);
+      for (int c = 0; c < bounds.length - 1; c++) {
+        chunks.add(new LineCursor(region, bounds[c], bounds[c + 1]));
+      }
     }
+    return chunks;
+  }
+
+  private static long sum(LineCursor cursor) {
+    long sum = 0;
+    while (cursor.next()) {
+      sum += cursor.parseInt();
+    }
+    return sum;
+  }
+
+  private static int[] parse(LineCursor cursor) {
+    int[] deltas = new int[1024];
+    int size = 0;
+    while (cursor.next()) {
+      if (size == deltas.length) {
+        deltas = Arrays.copyOf(deltas, size * 2);
+      }
+      deltas[size++] = cursor.parseInt();
+    }
+    return Arrays.copyOf(deltas, size);
+  }
+
+  /**
+   * The frequency before each change, parsed and summed chunk by chunk in parallel.  Entry i is
+   * the sum of the first i changes, so the last entry is the drift of a whole pass.
+   */
+  private long[] prefixSums() {
+    List<LineCursor> chunks = chunks(getInputRegions());
+    int[][] deltas = new int[chunks.size()][];
+    IntStream.range(0, deltas.length).parallel()
+            .forEach(c -> deltas[c] = parse(chunks.get(c)));
 
-    print(frequency);
+    int[] offsets = new int[deltas.length + 1];
+    for (int c = 0; c < deltas.length; c++) {
+      offsets[c + 1] = offsets[c] + deltas[c].length;
+    }
+    long[] sums = new long[offsets[deltas.length] + 1];
+    IntStream.range(0, deltas.length).parallel().forEach(c -> {
+      for (int i = 0; i < deltas[c].length; i++) {
+        sums[offsets[c] + i + 1] = deltas[c][i];
+      }
+    });
+    Arrays.parallelPrefix(sums, Long::sum);
+    return sums;
   }
 
   /**
@@ -90,26 +153,70 @@ public class Day01 extends PuzzleDay {
    * What is the first frequency your device reaches twice?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
+    long[] sums = getParsed("prefixSums", this::prefixSums);
+    return new Result(firstRepeat(sums));
+  }
 
-    Integer frequency = 0;
-    Integer dupeFrequency = null;
-    HashSet<Integer> frequencyHistory = new HashSet<>();
-    frequencyHistory.add(0);
-    List<String> input = getInput();
+  /**
+   * Every frequency is one of the first pass prefix sums plus a whole number of drifts, so
+   * instead of replaying the list this only looks at which prefix sums share a residue modulo
+   * the drift.  O(n log n) whatever the drift.
+   *
+   * @param sums frequency before each change, followed by the frequency after a whole pass
+   * @return the first frequency reached twice, null if no frequency is ever repeated
+   */
+  public static Long firstRepeat(long[] sums) {
+    int n = sums.length - 1;
+    //a repeat within the first pass, or the end of it landing on a frequency already seen, beats
+    //any repeat a later pass can find
+    FrequencyTracker tracker = new FrequencyTracker(n);
+    for (int i = 0; i < n && !tracker.hasDuplicate(); i++) {
+      tracker.accept((int) (sums[i + 1] - sums[i]));
+    }
+    if (tracker.hasDuplicate()) {
+      return tracker.getFirstDuplicate();
+    }
+    long drift = sums[n];
 
-    while (dupeFrequency == null) {
-      for ( String line : input){
-        frequency += Integer.parseInt(line);
-        if(frequencyHistory.contains(frequency)){
-          dupeFrequency = frequency;
-          break;
+    //a frequency only ever climbs onto the next prefix sum above it in the same residue class,
+    //negating a falling drift makes that the same search.  The first pass had no repeat, so
+    //the prefix sums are distinct and each one packs into a key sorting by (residue, value):
+    //residue * span + quotient, where span covers every quotient of the first pass
+    long sign = Long.signum(drift);
+    long step = drift * sign;
+    long minQuotient = Long.MAX_VALUE;
+    long maxQuotient = Long.MIN_VALUE;
+    LongIntOpenHashMap indexOf = new LongIntOpenHashMap(n);
+    for (int i = 0; i < n; i++) {
+      long quotient = Math.floorDiv(sums[i] * sign, step);
+      minQuotient = Math.min(minQuotient, quotient);
+      maxQuotient = Math.max(maxQuotient, quotient);
+      indexOf.put(sums[i] * sign, i);
+    }
+    //residue * span stays within the spread of the sums plus one drift, well inside a long
+    long span = maxQuotient - minQuotient + 1;
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      long value = sums[i] * sign;
+      keys[i] = Math.floorMod(value, step) * span + Math.floorDiv(value, step) - minQuotient;
+    }
+    RadixSort.sort(keys);
+
+    long bestTime = Long.MAX_VALUE;
+    Long repeat = null;
+    for (int k = 1; k < n; k++) {
+      long residue = keys[k] / span;
+      if (keys[k - 1] / span == residue) {
+        long from = (keys[k - 1] % span + minQuotient) * step + residue;
+        long to = (keys[k] % span + minQuotient) * step + residue;
+        long time = (to - from) / step * n + indexOf.get(from);
+        if (time < bestTime) {
+          bestTime = time;
+          repeat = to * sign;
         }
-        frequencyHistory.add(frequency);
       }
-
     }
-
-    print(dupeFrequency);
+    return repeat;
   }
 }
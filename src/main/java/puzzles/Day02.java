@@ -1,11 +1,18 @@
 package puzzles;
 
 import utils.InputParser;
+import utils.LineCursor;
+import utils.LongIntOpenHashMap;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class Day02 extends PuzzleDay {
 
+  private static final int CHUNK_BYTES = 1 << 18;
+  private static final long HASH_BASE = 1_000_003;
+
   /**
    * --- Day 2: Inventory Management System ---
    * You stop falling through time, catch your breath, and check the screen on the device.
@@ -48,26 +55,61 @@ public class Day02 extends PuzzleDay {
    * What is the checksum for your list of box IDs?
    */
   @Override
-  public void solvePart1() {
-    int twice = 0;
-    int three = 0;
-    Map<Character, Integer> charCount = null;
-    for ( String line : getInput()){
-      charCount = new HashMap<>();
-      for( Character c :  line.toCharArray()){
-        charCount.put(c, (charCount.getOrDefault(c, 0) + 1));
-      }
-      if(charCount.containsValue(2)){
-        twice++;
-      }
-      if(charCount.containsValue(3)){
-        three++;
-      }
-    }
+  public Result solvePart1() {
+    ByteBuffer input = getInputBuffer();
+    int[] chunks = LineCursor.split(input, CHUNK_BYTES);
+    Checksum checksum = IntStream.range(0, chunks.length - 1).parallel()
+            .collect(Checksum::new,
+                    (sum, c) -> sum.accept(new LineCursor(input, chunks[c], chunks[c + 1])),
+                    Checksum::combine);
+    long twice = checksum.twice;
+    long three = checksum.three;
 
     print(twice);
     print(three);
-    print(twice * three);
+    return new Result(twice * three);
+  }
+
+  /**
+   * Mutable reduction container for the checksum, one per fork/join leaf, so the histogram is
+   * reused for every id that leaf sees and nothing is boxed.  It has a slot for every byte, so
+   * ids are not limited to lower case letters.
+   */
+  private static class Checksum {
+    final int[] counts = new int[256];
+    long twice;
+    long three;
+
+    void accept(LineCursor cursor) {
+      while (cursor.next()) {
+        int length = cursor.length();
+        for (int i = 0; i < length; i++) {
+          counts[cursor.charAt(i) & 0xFF]++;
+        }
+        boolean hasTwo = false;
+        boolean hasThree = false;
+        for (int i = 0; i < length; i++) {
+          int count = counts[cursor.charAt(i) & 0xFF];
+          hasTwo |= count == 2;
+          hasThree |= count == 3;
+        }
+        //only the letters in this id were touched
+        for (int i = 0; i < length; i++) {
+          counts[cursor.charAt(i) & 0xFF] = 0;
+        }
+        if (hasTwo) {
+          twice++;
+        }
+        if (hasThree) {
+          three++;
+        }
+      }
+    }
+
+    void combine(Checksum other) {
+      twice += other.twice;
+      three += other.three;
+    }
   }
 
   /**
@@ -93,53 +135,102 @@ public class Day02 extends PuzzleDay {
    * by removing the differing character from either ID, producing fgij.)
    */
   @Override
-  public void solvePart2() {
-    List<String> inputLines = getInput();
-    List<Map<Character, List<Integer>>> data = initIndexData();
-
-    //set up our data - create groups of row indexes that share the same letter per column
-    //IE: data[columnIndex][character] = [row Index, row index, ...]
-    for (int i = 0; i < inputLines.size(); i++) {
-      char[] chars = inputLines.get(i).toCharArray();
-      for (int column = 0; column < chars.length; column++) {
-        data.get(column).get(chars[column]).add(i);
-      }
+  public Result solvePart2() {
+    List<String> ids = getInput();
+    int[] pair = findOneMismatch(ids);
+    if (pair == null) {
+      return new Result(null);
     }
+    print(ids.get(pair[0]));
+    print(ids.get(pair[1]));
+    return new Result(commonLetters(ids.get(pair[0]), ids.get(pair[1])));
+  }
 
-    //loop through each code and use our data to see if there are any other rows that have the same
-    // values for all columns except for one.
-    for (int i = 0; i < inputLines.size(); i++) {
-      List<Integer> intersects = new ArrayList<>(); //store a list of rows with dupes
-      char[] chars = inputLines.get(i).toCharArray();
-      for (int j = 0; j < chars.length; j++) {
-        intersects.addAll(data.get(j).get(chars[j]));
-      }
-      Set<Integer> uniqueSet = new HashSet<>(intersects);
-      for (Integer rowId : uniqueSet) {
-        if (Collections.frequency(intersects, rowId) == (chars.length - 1)) {
-          print(inputLines.get(i));
-          print(inputLines.get(rowId));
-          return;
-        }
-      }
+  /**
+   * stream every pair of box ids within maxDistance of each other, as row indexes into the input
+   */
+  public void nearPairs(int maxDistance, BoxIdIndex.PairConsumer matches) {
+    BoxIdIndex index = new BoxIdIndex(maxDistance);
+    for (String id : getInput()) {
+      index.insert(id, matches);
     }
   }
 
   /**
-   * init our data structure to index our codes.  We are going to assume
-   * all codes are the same fixed length with only a-z chars
-   * @return
+   * Two ids differing in exactly one position are equal once that position is masked out.  So
+   * for every column, hash every id with that column's character taken out of a polynomial hash
+   * and look for two ids landing on the same masked hash.  O(n * length), with the columns
+   * searched in parallel.  Ids of different lengths can never match, so they are grouped by
+   * length first.
+   *
+   * @return row indexes of the first matching pair (lowest column, shortest ids), or null
    */
-  private  List<Map<Character, List<Integer>>> initIndexData(){
-    List<Map<Character, List<Integer>>> data = new ArrayList<>();
-    char[] chars = "abcdefghijklmnopqrstuvwxyz".toCharArray();
-    for (int i = 0; i < 26; i++){
-      Map<Character, List<Integer>> characterMap = new HashMap<>();
-      data.add(characterMap);
-      for(char c : chars){
-        characterMap.put(c, new ArrayList<>());
+  static int[] findOneMismatch(List<String> ids) {
+    Map<Integer, List<Integer>> rowsByLength = new TreeMap<>();
+    for (int row = 0; row < ids.size(); row++) {
+      rowsByLength.computeIfAbsent(ids.get(row).length(), k -> new ArrayList<>()).add(row);
+    }
+    for (Map.Entry<Integer, List<Integer>> group : rowsByLength.entrySet()) {
+      int[] pair = findOneMismatch(ids, group.getValue(), group.getKey());
+      if (pair != null) {
+        return pair;
+      }
+    }
+    return null;
+  }
+
+  private static int[] findOneMismatch(List<String> ids, List<Integer> rows, int length) {
+    long[] powers = new long[length];
+    long power = 1;
+    for (int i = length - 1; i >= 0; i--) {
+      powers[i] = power;
+      power *= HASH_BASE;
+    }
+    long[] hashes = new long[rows.size()];
+    for (int r = 0; r < hashes.length; r++) {
+      String id = ids.get(rows.get(r));
+      long hash = 0;
+      for (int i = 0; i < length; i++) {
+        hash = hash * HASH_BASE + id.charAt(i);
+      }
+      hashes[r] = hash;
+    }
+
+    return IntStream.range(0, length).parallel()
+            .mapToObj(column -> {
+              LongIntOpenHashMap seen = new LongIntOpenHashMap(hashes.length);
+              for (int r = 0; r < hashes.length; r++) {
+                String id = ids.get(rows.get(r));
+                long masked = hashes[r] - id.charAt(column) * powers[column];
+                int other = seen.putIfAbsent(masked, r);
+                //a hash collision or a duplicate id also lands here, so check the real ids
+                if (other != LongIntOpenHashMap.NO_VALUE
+                        && differsOnlyAt(ids.get(rows.get(other)), id, column)) {
+                  return new int[]{rows.get(other), rows.get(r)};
+                }
+              }
+              return null;
+            })
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+  }
+
+  private static boolean differsOnlyAt(String a, String b, int column) {
+    if (a.charAt(column) == b.charAt(column)) {
+      return false;
+    }
+    return a.regionMatches(0, b, 0, column)
+            && a.regionMatches(column + 1, b, column + 1, a.length() - column - 1);
+  }
+
+  private static String commonLetters(String a, String b){
+    StringBuilder common = new StringBuilder();
+    for (int i = 0; i < a.length(); i++) {
+      if(a.charAt(i) == b.charAt(i)){
+        common.append(a.charAt(i));
       }
     }
-    return data;
+    return common.toString();
   }
 }
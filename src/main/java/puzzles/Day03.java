@@ -1,11 +1,24 @@
 package puzzles;
 
+
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 public class Day03 extends PuzzleDay {
 
+  private static final long MAX_FABRIC_CELLS = 1 << 22;
+  private static final int PARALLEL_CLAIMS = 4096;
+  /** sheets with more square inches than this are swept instead of rasterized */
+  private static final long MAX_TILED_CELLS = 1 << 28;
+
+  /** ways of counting the claims, all giving the same answers */
+  enum Engine { FABRIC, TILES, SWEEP }
+
+  /** null picks the engine by the size of the input */
+  private Engine engine;
+
   /**
    * --- Day 3: No Matter How You Slice It ---
    * The Elves managed to locate the chimney-squeeze prototype fabric for Santa's suit (thanks to
@@ -61,27 +74,83 @@ public class Day03 extends PuzzleDay {
    * many square inches of fabric are within two or more claims?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
+    List<Square> squares = getSquares();
+    Engine engine = engineFor(squares);
+    if (engine == Engine.SWEEP) {
+      return new Result(timed("sweep", () -> new Sweep(squares).overclaimedArea()));
+    }
+    if (engine == Engine.TILES) {
+      return new Result(timed("tiles", () -> TiledFabric.rasterize(squares).overclaimed));
+    }
+
     //init our fabric
-    Fabric fabric = new Fabric(1000, 1000);
-    for(Square square :parseInput()){
+    Fabric fabric = timed("build", () -> buildFabric(squares));
+
+    //check to see how many are over-claimed;
+    int overclaims = timed("answer", fabric::countOverclaimed);
+
+    return new Result(overclaims);
+  }
+
+  /**
+   * always solve with this engine, null to go back to picking it by the input's size
+   */
+  void setEngine(Engine engine) {
+    this.engine = engine;
+  }
+
+  /**
+   * a single fabric big enough for every claim is fine for a few claims on a reasonably sized
+   * (24MB) sheet, more than that is split into tiles to rasterize in parallel, and sheets too
+   * big for even that are swept
+   */
+  private Engine engineFor(List<Square> squares) {
+    if (engine != null) {
+      return engine;
+    }
+    if (sheetCells(squares) > MAX_TILED_CELLS) {
+      return Engine.SWEEP;
+    }
+    if (squares.size() >= PARALLEL_CLAIMS || sheetCells(squares) > MAX_FABRIC_CELLS) {
+      return Engine.TILES;
+    }
+    return Engine.FABRIC;
+  }
+
+  private static long sheetCells(List<Square> squares) {
+    return (long) sheetWidth(squares) * sheetHeight(squares);
+  }
+
+  TiledFabric rasterizeTiles(ForkJoinPool pool) {
+    return TiledFabric.rasterize(getSquares(), pool);
+  }
+
+  private static Fabric buildFabric(List<Square> squares) {
+    Fabric fabric = new Fabric(sheetWidth(squares), sheetHeight(squares));
+    for (Square square : squares) {
       fabric.fillClaims(square);
     }
+    return fabric;
+  }
 
-    //check to see how many are over-claimed;
-    Integer overclaims = 0;
-    for(List<List<Integer>> row : fabric.claims){
-      for(List<Integer> cell: row){
-        if(cell.size() > 1){
-          overclaims++;
-        }
-      }
+  private static int sheetWidth(List<Square> squares) {
+    int width = 0;
+    for (Square square : squares) {
+      width = Math.max(width, square.x + square.width);
     }
+    return width;
+  }
 
-    print(overclaims);
+  private static int sheetHeight(List<Square> squares) {
+    int height = 0;
+    for (Square square : squares) {
+      height = Math.max(height, square.y + square.height);
+    }
+    return height;
   }
 
-  private class Square {
+  private static class Square {
     public Integer id;
     public Integer x;
     public Integer y;
@@ -97,70 +166,488 @@ public class Day03 extends PuzzleDay {
     }
   }
 
-  private class Fabric {
-    public List<List<List<Integer>>> claims;
+  /**
+   * How many claims cover each square inch, plus the id of the last claim to cover it, in flat
+   * row-major arrays (6 bytes an inch instead of a list of boxed ids).
+   */
+  private static class Fabric {
+    final int width;
+    final int height;
+    final short[] coverage;
+    final int[] lastClaimant;
+
+    public Fabric(int width, int height) {
+      this.width = width;
+      this.height = height;
+      this.coverage = new short[width * height];
+      this.lastClaimant = new int[width * height];
+    }
 
-    public Fabric(Integer width, Integer height) {
-      this.claims = new ArrayList<>();
-      for(int x = 0; x < width; x++){
-        List<List<Integer>> row = new ArrayList<>();
-        claims.add(row);
-        for(int y = 0; y < height; y++){
-          row.add(new ArrayList<>());
+    public void fillClaims(Square square){
+      for(int y = square.y; y < square.y + square.height; y++){
+        int row = y * width;
+        for(int x = square.x; x < square.x + square.width; x++){
+          //only 0, 1 and more than 1 matter, so stop counting before the short overflows
+          if(coverage[row + x] < Short.MAX_VALUE){
+            coverage[row + x]++;
+          }
+          lastClaimant[row + x] = square.id;
         }
       }
     }
 
-    public void fillClaims(Square square){
-      for(int x = square.x; x < square.x + square.width; x++){
-        for(int y = square.y; y < square.y + square.height; y++){
-           claims.get(x).get(y).add(square.id);
+    public int countOverclaimed(){
+      int count = 0;
+      for(short claims : coverage){
+        if(claims > 1){
+          count++;
         }
       }
+      return count;
     }
 
-    public Set<Integer> getClaimIds(Square square){
-      Set<Integer> ids = new HashSet<>();
-      for(int x = square.x; x < square.x + square.width; x++){
-        for(int y = square.y; y < square.y + square.height; y++){
-          ids.addAll(claims.get(x).get(y));
+    /**
+     * @return true if no other claim covers any of the square
+     */
+    public boolean isIntact(Square square){
+      for(int y = square.y; y < square.y + square.height; y++){
+        int row = y * width;
+        for(int x = square.x; x < square.x + square.width; x++){
+          if(coverage[row + x] != 1 || lastClaimant[row + x] != square.id){
+            return false;
+          }
         }
       }
-      return ids;
+      return true;
     }
   }
 
-  private List<Square> parseInput(){
-    List<Square> squares = new ArrayList<>();
-    Pattern pattern = Pattern.compile("#(\\d*) @ (\\d*),(\\d*): (\\d*)x(\\d*)");
-    for(String line : getInput()){
-      Matcher matcher = pattern.matcher(line);
-      if(matcher.find()){
-        squares.add(new Square(
-                Integer.parseInt(matcher.group(1)),
-                Integer.parseInt(matcher.group(2)),
-                Integer.parseInt(matcher.group(3)),
-                Integer.parseInt(matcher.group(4)),
-                Integer.parseInt(matcher.group(5))));
+  /**
+   * The fabric cut into TILE x TILE tiles, each rasterized on its own by a fork/join task with
+   * only the claims that reach into it, into per-thread scratch counters that stay in cache.
+   * Tiles never share cells, so there is nothing to contend on, and the totals are summed as
+   * the tasks join.  Gives the same answers as {@link Fabric}.
+   */
+  static class TiledFabric {
+    static final int TILE = 128;
 
+    final int[] left;
+    final int[] top;
+    final int[] right;
+    final int[] bottom;
+    final int tilesAcross;
+    final int tileCount;
+    /** claims reaching into tile t are tileClaims[tileStart[t]] to tileClaims[tileStart[t + 1] - 1] */
+    final int[] tileStart;
+    final int[] tileClaims;
+    final boolean[] overlapped;
+    final ThreadLocal<short[]> scratch = ThreadLocal.withInitial(() -> new short[TILE * TILE]);
+    long overclaimed;
 
+    private TiledFabric(List<Square> squares) {
+      int n = squares.size();
+      left = new int[n];
+      top = new int[n];
+      right = new int[n];
+      bottom = new int[n];
+      for (int i = 0; i < n; i++) {
+        Square square = squares.get(i);
+        left[i] = square.x;
+        top[i] = square.y;
+        right[i] = square.x + square.width;
+        bottom[i] = square.y + square.height;
+      }
+      tilesAcross = Math.max(1, (sheetWidth(squares) + TILE - 1) / TILE);
+      tileCount = tilesAcross * Math.max(1, (sheetHeight(squares) + TILE - 1) / TILE);
+
+      //bucket the claims by tile in two passes, count then fill
+      tileStart = new int[tileCount + 1];
+      for (int i = 0; i < n; i++) {
+        for (int ty = top[i] / TILE; ty <= (bottom[i] - 1) / TILE; ty++) {
+          for (int tx = left[i] / TILE; tx <= (right[i] - 1) / TILE; tx++) {
+            tileStart[ty * tilesAcross + tx + 1]++;
+          }
+        }
+      }
+      for (int t = 0; t < tileCount; t++) {
+        tileStart[t + 1] += tileStart[t];
+      }
+      tileClaims = new int[tileStart[tileCount]];
+      int[] fill = Arrays.copyOf(tileStart, tileCount);
+      for (int i = 0; i < n; i++) {
+        for (int ty = top[i] / TILE; ty <= (bottom[i] - 1) / TILE; ty++) {
+          for (int tx = left[i] / TILE; tx <= (right[i] - 1) / TILE; tx++) {
+            tileClaims[fill[ty * tilesAcross + tx]++] = i;
+          }
+        }
+      }
+      overlapped = new boolean[n];
+    }
+
+    /**
+     * rasterize in the pool the caller runs in, so a batch run with -j stays inside its own
+     * pool, or in the common pool when called from outside any
+     */
+    static TiledFabric rasterize(List<Square> squares) {
+      ForkJoinPool pool = ForkJoinTask.getPool();
+      return rasterize(squares, pool != null ? pool : ForkJoinPool.commonPool());
+    }
+
+    static TiledFabric rasterize(List<Square> squares, ForkJoinPool pool) {
+      TiledFabric fabric = new TiledFabric(squares);
+      fabric.overclaimed = pool.invoke(fabric.new TileTask(0, fabric.tileCount));
+      return fabric;
+    }
+
+    /**
+     * @return index of the first claim no other claim overlaps, or -1
+     */
+    int firstIntact() {
+      for (int i = 0; i < overlapped.length; i++) {
+        if (!overlapped[i]) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * rasterize one tile, flag the claims that overlap inside it
+     * @return square inches of the tile covered more than once
+     */
+    private long rasterizeTile(int tile) {
+      if (tileStart[tile] == tileStart[tile + 1]) {
+        return 0;
+      }
+      int tileLeft = tile % tilesAcross * TILE;
+      int tileTop = tile / tilesAcross * TILE;
+      short[] coverage = scratch.get();
+      Arrays.fill(coverage, (short) 0);
+
+      for (int c = tileStart[tile]; c < tileStart[tile + 1]; c++) {
+        int claim = tileClaims[c];
+        int fromX = Math.max(left[claim], tileLeft) - tileLeft;
+        int toX = Math.min(right[claim], tileLeft + TILE) - tileLeft;
+        for (int y = Math.max(top[claim], tileTop); y < Math.min(bottom[claim], tileTop + TILE);
+             y++) {
+          int row = (y - tileTop) * TILE;
+          for (int x = row + fromX; x < row + toX; x++) {
+            if (coverage[x] < Short.MAX_VALUE) {
+              coverage[x]++;
+            }
+          }
+        }
+      }
+
+      long count = 0;
+      for (short claims : coverage) {
+        if (claims > 1) {
+          count++;
+        }
+      }
+      if (count == 0) {
+        return 0;
+      }
+
+      for (int c = tileStart[tile]; c < tileStart[tile + 1]; c++) {
+        int claim = tileClaims[c];
+        if (overlapped[claim]) {
+          continue;
+        }
+        int fromX = Math.max(left[claim], tileLeft) - tileLeft;
+        int toX = Math.min(right[claim], tileLeft + TILE) - tileLeft;
+        search:
+        for (int y = Math.max(top[claim], tileTop); y < Math.min(bottom[claim], tileTop + TILE);
+             y++) {
+          int row = (y - tileTop) * TILE;
+          for (int x = row + fromX; x < row + toX; x++) {
+            if (coverage[x] > 1) {
+              //only ever set to true, and read after the tasks join
+              overlapped[claim] = true;
+              break search;
+            }
+          }
+        }
+      }
+      return count;
+    }
+
+    @SuppressWarnings("serial")
+    private class TileTask extends RecursiveTask<Long> {
+      final int from;
+      final int to;
+
+      TileTask(int from, int to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      @Override
+      protected Long compute() {
+        if (to - from <= 4) {
+          long count = 0;
+          for (int tile = from; tile < to; tile++) {
+            count += rasterizeTile(tile);
+          }
+          return count;
+        }
+        int mid = (from + to) >>> 1;
+        TileTask first = new TileTask(from, mid);
+        first.fork();
+        long second = new TileTask(mid, to).compute();
+        return first.join() + second;
       }
     }
-    return squares;
   }
 
-  private List<List<List<Integer>>> initFabric(){
-    List<List<List<Integer>>> fabric = new ArrayList<>();
-    for(int x = 0; x < 1000; x++){
-      List<List<Integer>> row = new ArrayList<>();
-      fabric.add(row);
-      for(int y = 0; y < 1000; y++){
-        row.add(new ArrayList<>());
+  /**
+   * Sweep line over the claim edges, for sheets too big (or too sparse) to rasterize.  Only the
+   * distinct claim edges matter, so y is compressed to them and a segment tree over those
+   * strips tracks the claims crossing the sweep line.  O(n log n) in the number of claims, no
+   * matter how large the sheet.
+   */
+  private static class Sweep {
+    final List<Square> squares;
+    final int[] ys;
+    /** claims by left edge and by right edge, packed as x << 32 | claim index */
+    final long[] starts;
+    final long[] ends;
+
+    Sweep(List<Square> squares) {
+      this.squares = squares;
+      int[] edges = new int[squares.size() * 2];
+      starts = new long[squares.size()];
+      ends = new long[squares.size()];
+      for (int i = 0; i < squares.size(); i++) {
+        Square square = squares.get(i);
+        edges[i * 2] = square.y;
+        edges[i * 2 + 1] = square.y + square.height;
+        starts[i] = (long) square.x << 32 | i;
+        ends[i] = (long) (square.x + square.width) << 32 | i;
       }
+      Arrays.sort(edges);
+      int distinct = 0;
+      for (int i = 0; i < edges.length; i++) {
+        if (i == 0 || edges[i] != edges[i - 1]) {
+          edges[distinct++] = edges[i];
+        }
+      }
+      ys = Arrays.copyOf(edges, distinct);
+      Arrays.sort(starts);
+      Arrays.sort(ends);
+    }
+
+    /**
+     * @return square inches covered by two or more claims
+     */
+    long overclaimedArea() {
+      SegmentTree tree = new SegmentTree(ys);
+      long area = 0;
+      int start = 0;
+      int end = 0;
+      long lastX = 0;
+      while (end < ends.length) {
+        long x = start < starts.length ? Math.min(starts[start] >> 32, ends[end] >> 32)
+                : ends[end] >> 32;
+        area += tree.coveredTwice(1) * (x - lastX);
+        lastX = x;
+        for (; end < ends.length && ends[end] >> 32 == x; end++) {
+          cover(tree, (int) ends[end], -1);
+        }
+        for (; start < starts.length && starts[start] >> 32 == x; start++) {
+          cover(tree, (int) starts[start], 1);
+        }
+      }
+      return area;
+    }
+
+    /**
+     * A claim overlaps another if one of them was already crossing the sweep line when the
+     * other started.  The later one sees that as a count above 1 somewhere in its rows once it
+     * is added; the earlier one sees it as more claim area having started in its rows by the
+     * time it ends than just its own.
+     *
+     * @return index of the first claim no other claim overlaps, or -1
+     */
+    int firstIntact() {
+      SegmentTree tree = new SegmentTree(ys);
+      boolean[] overlapped = new boolean[squares.size()];
+      long[] startedBefore = new long[squares.size()];
+      int start = 0;
+      int end = 0;
+      while (end < ends.length) {
+        long x = start < starts.length ? Math.min(starts[start] >> 32, ends[end] >> 32)
+                : ends[end] >> 32;
+        //edges only touching at x don't overlap, so claims ending here go first
+        for (; end < ends.length && ends[end] >> 32 == x; end++) {
+          int claim = (int) ends[end];
+          Square square = squares.get(claim);
+          if (started(tree, claim) - startedBefore[claim] > square.height) {
+            overlapped[claim] = true;
+          }
+          cover(tree, claim, -1);
+        }
+        int batch = start;
+        for (; start < starts.length && starts[start] >> 32 == x; start++) {
+          int claim = (int) starts[start];
+          startedBefore[claim] = started(tree, claim);
+        }
+        for (int i = batch; i < start; i++) {
+          int claim = (int) starts[i];
+          cover(tree, claim, 1);
+          tree.start(1, 0, ys.length - 1, row(claim, false), row(claim, true));
+        }
+        for (int i = batch; i < start; i++) {
+          int claim = (int) starts[i];
+          if (tree.maxCount(1, 0, ys.length - 1, row(claim, false), row(claim, true)) > 1) {
+            overlapped[claim] = true;
+          }
+        }
+      }
+      for (int i = 0; i < overlapped.length; i++) {
+        if (!overlapped[i]) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void cover(SegmentTree tree, int claim, int delta) {
+      tree.cover(1, 0, ys.length - 1, row(claim, false), row(claim, true), delta);
+    }
+
+    private long started(SegmentTree tree, int claim) {
+      return tree.startedArea(1, 0, ys.length - 1, row(claim, false), row(claim, true));
+    }
+
+    /**
+     * @return the compressed strip a claim's top edge starts, or bottom edge ends, at
+     */
+    private int row(int claim, boolean bottom) {
+      Square square = squares.get(claim);
+      return Arrays.binarySearch(ys, bottom ? square.y + square.height : square.y);
+    }
+  }
+
+  /**
+   * Segment tree over the strips between consecutive compressed y edges, node n covering strips
+   * [from, to) with children 2n and 2n + 1.  Range updates stay on the nodes they fully cover
+   * (no push down), so every query adds up what its ancestors hold on the way down.
+   */
+  private static class SegmentTree {
+    final int[] ys;
+    /** claims covering the whole node right now */
+    final int[] count;
+    /** rows of the node covered at least once / at least twice, counting only this subtree */
+    final long[] once;
+    final long[] twice;
+    /** highest count of any strip in the subtree, counting only this subtree */
+    final int[] max;
+    /** claims ever started covering the whole node, and started claim area in the subtree */
+    final long[] startedCount;
+    final long[] startedArea;
+
+    SegmentTree(int[] ys) {
+      this.ys = ys;
+      int size = 4 * Math.max(1, ys.length);
+      count = new int[size];
+      once = new long[size];
+      twice = new long[size];
+      max = new int[size];
+      startedCount = new long[size];
+      startedArea = new long[size];
+    }
+
+    long coveredTwice(int node) {
+      return twice[node];
+    }
+
+    void cover(int node, int from, int to, int qFrom, int qTo, int delta) {
+      if (qTo <= from || to <= qFrom) {
+        return;
+      }
+      if (qFrom <= from && to <= qTo) {
+        count[node] += delta;
+      } else {
+        int mid = (from + to) >>> 1;
+        cover(node * 2, from, mid, qFrom, qTo, delta);
+        cover(node * 2 + 1, mid, to, qFrom, qTo, delta);
+      }
+      pull(node, from, to);
+    }
+
+    void start(int node, int from, int to, int qFrom, int qTo) {
+      if (qTo <= from || to <= qFrom) {
+        return;
+      }
+      startedArea[node] += ys[Math.min(to, qTo)] - ys[Math.max(from, qFrom)];
+      if (qFrom <= from && to <= qTo) {
+        startedCount[node]++;
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      start(node * 2, from, mid, qFrom, qTo);
+      start(node * 2 + 1, mid, to, qFrom, qTo);
+    }
+
+    long startedArea(int node, int from, int to, int qFrom, int qTo) {
+      if (qTo <= from || to <= qFrom) {
+        return 0;
+      }
+      if (qFrom <= from && to <= qTo) {
+        return startedArea[node];
+      }
+      int mid = (from + to) >>> 1;
+      long overlap = ys[Math.min(to, qTo)] - ys[Math.max(from, qFrom)];
+      return startedCount[node] * overlap + startedArea(node * 2, from, mid, qFrom, qTo)
+              + startedArea(node * 2 + 1, mid, to, qFrom, qTo);
+    }
+
+    int maxCount(int node, int from, int to, int qFrom, int qTo) {
+      if (qTo <= from || to <= qFrom) {
+        return 0;
+      }
+      if (qFrom <= from && to <= qTo) {
+        return max[node];
+      }
+      int mid = (from + to) >>> 1;
+      return count[node] + Math.max(maxCount(node * 2, from, mid, qFrom, qTo),
+              maxCount(node * 2 + 1, mid, to, qFrom, qTo));
+    }
+
+    private void pull(int node, int from, int to) {
+      boolean leaf = to - from == 1;
+      long length = ys[to] - ys[from];
+      long childOnce = leaf ? 0 : once[node * 2] + once[node * 2 + 1];
+      long childTwice = leaf ? 0 : twice[node * 2] + twice[node * 2 + 1];
+      if (count[node] >= 2) {
+        once[node] = length;
+        twice[node] = length;
+      } else if (count[node] == 1) {
+        once[node] = length;
+        twice[node] = childOnce;
+      } else {
+        once[node] = childOnce;
+        twice[node] = childTwice;
+      }
+      max[node] = count[node] + (leaf ? 0 : Math.max(max[node * 2], max[node * 2 + 1]));
     }
-    return fabric;
   }
 
+  private List<Square> getSquares(){
+    return getParsed("squares", this::parseInput);
+  }
+
+  private List<Square> parseInput(){
+    List<Square> squares = new ArrayList<>();
+    //#id @ x,y: widthxheight
+    int[] values = getIntInput(5);
+    for(int i = 0; i < values.length; i += 5){
+      squares.add(new Square(values[i], values[i + 1], values[i + 2], values[i + 3],
+              values[i + 4]));
+    }
+    return squares;
+  }
 
   /**
    * --- Part Two ---
@@ -173,17 +660,27 @@ public class Day03 extends PuzzleDay {
    * What is the ID of the only claim that doesn't overlap?
    */
   @Override
-  public void solvePart2() {
-    Fabric fabric = new Fabric(1000, 1000);
-    for(Square square :parseInput()){
-      fabric.fillClaims(square);
+  public Result solvePart2() {
+    List<Square> squares = getSquares();
+    Engine engine = engineFor(squares);
+    if (engine == Engine.SWEEP) {
+      int intact = timed("sweep", () -> new Sweep(squares).firstIntact());
+      return new Result(intact < 0 ? null : squares.get(intact).id);
     }
-
-    for(Square square :parseInput()){
-      if(fabric.getClaimIds(square).size() == 1){
-        print(square.id);
-        return;
-      };
+    if (engine == Engine.TILES) {
+      int intact = timed("tiles", () -> TiledFabric.rasterize(squares).firstIntact());
+      return new Result(intact < 0 ? null : squares.get(intact).id);
     }
+
+    Fabric fabric = timed("build", () -> buildFabric(squares));
+
+    return new Result(timed("answer", () -> {
+      for (Square square : squares) {
+        if (fabric.isIntact(square)) {
+          return square.id;
+        }
+      }
+      return null;
+    }));
   }
 }
@@ -3,9 +3,11 @@ package puzzles;
 import org.apache.commons.math3.stat.descriptive.summary.Sum;
 import org.apache.commons.math3.util.MathUtils;
 
+import utils.IntScanner;
+import utils.LineCursor;
+import utils.RadixSort;
+
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.summingInt;
@@ -89,22 +91,13 @@ public class Day04 extends PuzzleDay {
    * example, the answer would be 10 * 24 = 240.)
    */
   @Override
-  public void solvePart1() {
-
-
-    Map<Integer, List<Integer>> data = parseInput();
-
-    Integer maxSleepingGuard = Collections.max(data.entrySet(),
-            Comparator.comparingInt(l -> l.getValue().stream().mapToInt(Integer::intValue).sum()))
-            .getKey();
-
-
-    List<Integer> minutes = data.get(maxSleepingGuard);
-    Integer maxMinute = minutes.indexOf(Collections.max(minutes));
-
-
-    print(maxSleepingGuard * maxMinute); //67558
+  public Result solvePart1() {
+    GuardLog log = getGuardLog();
+    GuardLog.Strategies strategies = log.strategies();
 
+    int maxSleepingGuard = strategies.getSleepiestGuard();
+    int maxMinute = strategies.getSleepiestGuardMinute();
+    return new Result(log.guardId(maxSleepingGuard) * maxMinute); //67558
   }
 
 
@@ -119,57 +112,83 @@ public class Day04 extends PuzzleDay {
    * example, the answer would be 99 * 45 = 4455.)
    */
   @Override
-  public void solvePart2() {
-    Map<Integer, List<Integer>> data = parseInput();
+  public Result solvePart2() {
+    GuardLog log = getGuardLog();
+    GuardLog.Strategies strategies = log.strategies();
 
-    Integer maxSleepingGuard = Collections.max(data.entrySet(),
-            Comparator.comparingInt(l -> Collections.max(l.getValue())))
-            .getKey();
+    int maxSleepingGuard = strategies.getFrequentGuard();
+    int maxMinute = strategies.getFrequentMinute();
 
+    return new Result(log.guardId(maxSleepingGuard) * maxMinute);
+  }
 
-    List<Integer> minutes = data.get(maxSleepingGuard);
-    Integer maxMinute = minutes.indexOf(Collections.max(minutes));
-
+  public GuardLog getGuardLog() {
+    return getParsed("guards", () -> {
+      long[] events = getEvents();
+      return GuardLog.fromSortedKeys(events, events.length);
+    });
+  }
 
-    print(maxSleepingGuard * maxMinute);
+  /**
+   * every nap in the input, for queries beyond the two strategies
+   */
+  public SleepStore getSleepStore() {
+    return getParsed("sleeps", () -> {
+      long[] events = getEvents();
+      return SleepStore.fromSortedKeys(events, events.length);
+    });
+  }
 
+  private long[] getEvents() {
+    return getParsed("events", this::parseInput);
   }
-  private Map<Integer, List<Integer>> parseInput(){
-    Map<Integer, List<Integer>> data = new HashMap<>();
-    Pattern logPattern = Pattern.compile("\\:(\\d\\d)\\] ((falls asleep)|(wakes up)|Guard #(\\d*)"
-            + " begins shift)");
-    List<String> lines = getInput();
-    java.util.Collections.sort(lines);
-    Integer currentGuard = null;
-    Integer lastMinute = null;
-    for(String line : lines){
-      Matcher logMatcher = logPattern.matcher(line);
-      if(logMatcher.find()){
-        Integer minute = Integer.parseInt(logMatcher.group(1));
-        //new guard
-        if(logMatcher.group(5) != null){
-          currentGuard = Integer.parseInt(logMatcher.group(5));
-        }
 
-        //wakes up
-        if (logMatcher.group(4) != null){
-          List<Integer> guardData = data.computeIfAbsent(currentGuard, k -> newMinuteData());
-          for(int i = lastMinute; i < minute; i++){
-            guardData.set(i, guardData.get(i) + 1);
-          }
+  /**
+   * Pack every line into a long key that sorts by time and radix sort the keys, no Strings or
+   * regex per line.
+   */
+  private long[] parseInput(){
+    long[] keys = new long[1024];
+    int size = 0;
+    int[] timestamp = new int[5];
+    IntScanner scanner = new IntScanner();
+    LineCursor cursor = getInputCursor();
+    while(cursor.next()){
+      //[yyyy-mm-dd hh:mm] event
+      if(scanner.reset(cursor).nextInts(timestamp, 0, 5) == 5){
+        int event;
+        int guardId = 0;
+        switch (eventChar(cursor)) {
+          case 'G':
+            event = GuardLog.BEGIN_SHIFT;
+            guardId = scanner.nextInt();
+            break;
+          case 'f':
+            event = GuardLog.FALL_ASLEEP;
+            break;
+          case 'w':
+            event = GuardLog.WAKE_UP;
+            break;
+          default:
+            continue;
+        }
+        if(size == keys.length){
+          keys = Arrays.copyOf(keys, size * 2);
         }
-        lastMinute = minute;
+        keys[size++] = GuardLog.key(timestamp[0], timestamp[1], timestamp[2], timestamp[3],
+                timestamp[4], event, guardId);
       }
-
     }
-    return data;
+    RadixSort.sort(keys, size);
+    return Arrays.copyOf(keys, size);
   }
 
-  private List<Integer> newMinuteData() {
-    List<Integer> data = new ArrayList<>(60);
-    for (int i = 0; i < 60; i++) {
-      data.add(i, 0);
+  private static char eventChar(CharSequence line) {
+    for (int i = 0; i + 2 < line.length(); i++) {
+      if (line.charAt(i) == ']') {
+        return line.charAt(i + 2);
+      }
     }
-    return data;
+    return ' ';
   }
 }
@@ -1,9 +1,9 @@
 package puzzles;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.regex.Pattern;
+import utils.LineCursor;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 public class Day05  extends PuzzleDay{
 
@@ -41,36 +41,59 @@ public class Day05  extends PuzzleDay{
    * How many units remain after fully reacting the polymer you scanned?
    */
   @Override
-  public void solvePart1() {
-
-    print(react(getInput().get(0)));
-    return;
+  public Result solvePart1() {
+    return new Result(timed("simulate", () -> getReduced().length));
   }
 
-  private int react(String input){
-
-    String lastValue = "";
-    String curValue = input;
+  /**
+   * the fully reacted polymer, shared between parts
+   */
+  private byte[] getReduced() {
+    return getParsed("reduced", () -> {
+      byte[] units = getPolymer().clone();
+      return Arrays.copyOf(units, react(units, units.length));
+    });
+  }
 
-    while (!lastValue.equals(curValue)){
-      lastValue = curValue;
-      curValue = curValue.replaceAll(getRegex(), "");
+  /**
+   * The reacted prefix of the buffer doubles as a stack: each unit either annihilates the unit
+   * on top of it or is pushed.  One pass, O(n), in place.
+   *
+   * @return length of the fully reacted polymer, left in units[0, length)
+   */
+  static int react(byte[] units, int length){
+    int top = 0;
+    for (int i = 0; i < length; i++) {
+      byte unit = units[i];
+      //same letter in the opposite case only differs by the 0x20 bit
+      if (top > 0 && (units[top - 1] ^ unit) == 0x20 && isLetter(unit)) {
+        top--;
+      } else {
+        units[top++] = unit;
+      }
     }
-
-
-    return curValue.length();
+    return top;
   }
 
-  private String getRegex(){
-    String letters = "abcdefghijklmnopqrstuvwxyz";
-    List<String> parts = new ArrayList<>();
-    for(char lower : letters.toCharArray()){
-      char upper = (char)((int) lower - 32);
-      parts.add(Character.toString (lower) + Character.toString(upper));
-      parts.add(Character.toString (upper) + Character.toString(lower));
-    }
-    return String.join("|", parts);
+  private static boolean isLetter(byte unit) {
+    return (unit | 0x20) >= 'a' && (unit | 0x20) <= 'z';
+  }
 
+  /**
+   * the polymer as single byte units, shared between parts so always react a copy
+   */
+  private byte[] getPolymer() {
+    return getParsed("polymer", () -> {
+      LineCursor cursor = getInputCursor();
+      if (!cursor.next()) {
+        return new byte[0];
+      }
+      byte[] units = new byte[cursor.length()];
+      for (int i = 0; i < units.length; i++) {
+        units[i] = (byte) cursor.charAt(i);
+      }
+      return units;
+    });
   }
 
 
@@ -99,15 +122,24 @@ public class Day05  extends PuzzleDay{
    * one type and fully reacting the result?
    */
   @Override
-  public void solvePart2() {
-    String input = getInput().get(0);
-    String letters = "abcdefghijklmnopqrstuvwxyz";
-    Integer min = null;
-    for(char c : letters.toCharArray()){
-      String adjustedInput = input.replaceAll("(?i)" + Character.toString(c), "" );
-      int result = react(adjustedInput);
-      min = (min == null || result < min) ? result : min;
+  public Result solvePart2() {
+    //reactions never depend on what is removed elsewhere, so taking a unit type out of the
+    //reacted polymer gives the same result as taking it out of the original
+    byte[] reduced = getReduced();
+    ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[reduced.length]);
+    return new Result(timed("simulate", () -> IntStream.rangeClosed('a', 'z').parallel()
+            .map(c -> reactWithout(reduced, c, scratch.get()))
+            .min()
+            .getAsInt()));
+  }
+
+  private static int reactWithout(byte[] polymer, int removed, byte[] scratch) {
+    int length = 0;
+    for (byte unit : polymer) {
+      if ((unit | 0x20) != removed) {
+        scratch[length++] = unit;
+      }
     }
-    print(min);
+    return react(scratch, length);
   }
 }
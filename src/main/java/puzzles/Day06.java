@@ -70,8 +70,8 @@ public class Day06 extends PuzzleDay {
    * What is the size of the largest area that isn't infinite?
    */
   @Override
-  public void solvePart1() {
-    List<Point> points = parseInput();
+  public Result solvePart1() {
+    List<Point> points = getParsed("points", this::parseInput);
     List<List<Integer>> grid = createGrid(points);
 
     Set<Integer> edgeIds = getEdgeIds(grid);
@@ -93,8 +93,7 @@ public class Day06 extends PuzzleDay {
             .getValue();
 
 
-    print(maxArea);
-    return;
+    return new Result(maxArea);
   }
 
   /**
@@ -139,9 +138,9 @@ public class Day06 extends PuzzleDay {
    * given coordinates of less than 10000?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
 
-    List<Point> points = parseInput();
+    List<Point> points = getParsed("points", this::parseInput);
     Integer maxX = points.stream().max(Comparator.comparing(Point::getX)).get().x;
     Integer maxy = points.stream().max(Comparator.comparing(Point::getY)).get().y;
 
@@ -153,8 +152,7 @@ public class Day06 extends PuzzleDay {
         }
       }
     }
-    print(area);
-    return;
+    return new Result(area);
   }
 
   private List<Point> parseInput(){
@@ -219,7 +217,7 @@ public class Day06 extends PuzzleDay {
     return edgeIds;
   }
 
-  private class Point{
+  private static class Point{
     Integer x;
     Integer y;
     Integer id;
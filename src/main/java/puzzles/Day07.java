@@ -2,9 +2,9 @@ package puzzles;
 
 import org.apache.commons.lang3.StringUtils;
 
+import utils.IntScanner;
+
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -64,23 +64,21 @@ import java.util.stream.Collectors;
  */
 public class Day07 extends PuzzleDay {
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
     Map<String, Step> stepMap = getSteps();
 
     List<Step> steps = stepMap.entrySet().stream()
             .map(Map.Entry::getValue)
             .sorted(Comparator.comparing(Step::getId))
             .collect(Collectors.toList());
-    String order = "Order: ";
+    String order = "";
     while (steps.size() > 0){
       Step next = steps.stream().filter(Step::dependenciesComplete).findFirst().get();
       order += next.getId();
       next.complete = true;
       steps.remove(next);
     }
-    print(order);
-
-    return;
+    return new Result(order);
   }
 
 
@@ -130,7 +128,7 @@ public class Day07 extends PuzzleDay {
    * complete all of the steps?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
     Map<String, Step> stepMap = getSteps();
 
     List<Step> steps = stepMap.entrySet().stream()
@@ -170,17 +168,20 @@ public class Day07 extends PuzzleDay {
         }
       }
     }
-    print(time);
+    return new Result(time);
   }
 
   public Map<String, Step>  getSteps(){
     Map<String, Step> stepMap = new HashMap<>();
-    Pattern pattern = Pattern.compile("Step (.) must be finished before step (.) can begin");
+    IntScanner scanner = new IntScanner();
     for(String line : getInput()) {
-      Matcher logMatcher = pattern.matcher(line);
-      if (logMatcher.find()) {
-        Step step = stepMap.computeIfAbsent(logMatcher.group(2), k -> new Step(k));
-        Step dependency = stepMap.computeIfAbsent(logMatcher.group(1), k -> new Step(k));
+      //Step C must be finished before step A can begin.
+      if (line.startsWith("Step ")) {
+        scanner.reset(line);
+        String dependencyId = String.valueOf(scanner.nextCharToken());
+        Step dependency = stepMap.computeIfAbsent(dependencyId, k -> new Step(k));
+        Step step = stepMap.computeIfAbsent(String.valueOf(scanner.nextCharToken()),
+                k -> new Step(k));
 
         step.dependencies.add(dependency);
         dependency.children.add(step);
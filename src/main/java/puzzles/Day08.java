@@ -52,7 +52,15 @@ public class Day08 extends PuzzleDay {
    * What is the sum of all metadata entries?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
+    Node tree = getParsed("tree", this::parseTree);
+
+    return new Result(tree.sumMeta());
+
+  }
+
+
+  private Node parseTree(){
     String inp = getInput().get(0);
 
     LinkedList<Integer> data = new ArrayList<>(Arrays.asList(inp.split(" "))).stream().map
@@ -60,14 +68,9 @@ public class Day08 extends PuzzleDay {
             .collect
             (Collectors.toCollection(LinkedList::new));
 
-    Node tree = build(data);
-
-    print(tree.sumMeta());
-    return;
-
+    return build(data);
   }
 
-
   public Node build(LinkedList<Integer> input){
 
     Node node = new Node();
@@ -88,7 +91,7 @@ public class Day08 extends PuzzleDay {
 
   }
 
-  public class Node {
+  public static class Node {
     List<Integer> meta = new ArrayList<>();
     Integer metaCount;
     Integer childCount;
@@ -144,18 +147,10 @@ public class Day08 extends PuzzleDay {
    * What is the value of the root node?
    */
   @Override
-  public void solvePart2() {
-
-    String inp = getInput().get(0);
-
-    LinkedList<Integer> data = new ArrayList<>(Arrays.asList(inp.split(" "))).stream().map
-            (Integer::parseInt)
-            .collect
-                    (Collectors.toCollection(LinkedList::new));
-
-    Node tree = build(data);
+  public Result solvePart2() {
+    Node tree = getParsed("tree", this::parseTree);
 
-    print(tree.weirdSum());
+    return new Result(tree.weirdSum());
 
   }
 }
@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigInteger;
 import java.util.*;
-import java.util.regex.Matcher;
 
 public class Day09 extends PuzzleDay {
 
@@ -80,7 +79,7 @@ public class Day09 extends PuzzleDay {
    * What is the winning Elf's score?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
     
     Game game = new Game();
     List<Integer> players = getIntegerList(getInputPlayers(), 0);
@@ -94,21 +93,22 @@ public class Day09 extends PuzzleDay {
       currPlayer = (currPlayer +1) % players.size();
     }
     
-    print(Collections.max(players));
-    return;
+    return new Result(Collections.max(players));
   }
   
   public Integer getInputPlayers(){
-    Matcher matcher = getRegexInput("(\\d*) players; last marble is worth (\\d*) points")
-            .get(0);
-    matcher.find();
-    return Integer.parseInt(matcher.group(1));
+    return getParsed("settings", this::parseSettings)[0];
   }
   public Integer getInputLastMarble(){
-    Matcher matcher = getRegexInput("(\\d*) players; last marble is worth (\\d*) points")
-            .get(0);
-    matcher.find();
-    return Integer.parseInt(matcher.group(2));
+    return getParsed("settings", this::parseSettings)[1];
+  }
+
+  /**
+   * @return [players, last marble]
+   */
+  private int[] parseSettings(){
+    //N players; last marble is worth M points
+    return getIntInput(2);
   }
 
   public class Game{
@@ -193,7 +193,7 @@ public class Day09 extends PuzzleDay {
    * larger?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
     Game game = new Game();
     List<BigInteger> players = new ArrayList<>();
     for(int i = 0; i < getInputPlayers(); i++){
@@ -216,8 +216,6 @@ public class Day09 extends PuzzleDay {
     for(BigInteger score : players){
       max = score.max(max);
     }
-    print(max);
-
-    return;
+    return new Result(max);
   }
 }
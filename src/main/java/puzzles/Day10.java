@@ -1,8 +1,8 @@
 package puzzles;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Day10 extends PuzzleDay {
 
@@ -164,7 +164,7 @@ public class Day10 extends PuzzleDay {
    * What message will eventually appear in the sky?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
     Sky sky = getSky();
 
     long lastMsgArea = sky.msgArea();
@@ -175,29 +175,17 @@ public class Day10 extends PuzzleDay {
       sky.tick();
     }
     sky.unTick();
-    sky.print();
-    return;
+    return new Result(sky.render());
   }
 
   public Sky getSky(){
-
-
-    List<Star> stars = getRegexInput("position=< ?(-?\\d*),  ?(-?\\d*)> velocity=< ?(-?\\d*),  ?(-?\\d*)>")
-            .stream()
-            .map(matcher -> {
-              matcher.find();
-              return new Star(
-                    new Point(
-                            Integer.parseInt(matcher.group(1)),
-                            Integer.parseInt(matcher.group(2))
-                    ),
-                    new Point(
-                            Integer.parseInt(matcher.group(3)),
-                            Integer.parseInt(matcher.group(4))
-
-            ));
-            }
-            ).collect(Collectors.toList());
+    //position=< 9,  1> velocity=< 0,  2>
+    int[] values = getIntInput(4);
+    List<Star> stars = new ArrayList<>(values.length / 4);
+    for(int i = 0; i < values.length; i += 4){
+      stars.add(new Star(new Point(values[i], values[i + 1]),
+              new Point(values[i + 2], values[i + 3])));
+    }
 
     return new Sky(stars);
   }
@@ -220,7 +208,7 @@ public class Day10 extends PuzzleDay {
       stars.forEach(Star::unTick);
     }
 
-    public void print(){
+    public String render(){
       int absMinX = (int) minX();
       int absMaxX = (int) maxX();
       int absMinY = (int) minY();
@@ -238,16 +226,15 @@ public class Day10 extends PuzzleDay {
         msg[star.position.x - absMinX][star.position.y - absMinY] = "#";
       });
 
-      System.out.print("\n\n");
-
+      StringBuilder stringBuilder = new StringBuilder();
       for(int y = 0; y < ySize; y++){
-        System.out.print("\n");
+        stringBuilder.append("\n");
         for(int x = 0; x < xSize; x++){
-          System.out.print(msg[x][y] == null? '.' : "#");
+          stringBuilder.append(msg[x][y] == null? '.' : '#');
         }
 
       }
-
+      return stringBuilder.toString();
     }
 
     public long msgArea(){
@@ -308,7 +295,7 @@ public class Day10 extends PuzzleDay {
    * many seconds would they have needed to wait for that message to appear?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
 
     Sky sky = getSky();
 
@@ -320,6 +307,6 @@ public class Day10 extends PuzzleDay {
       sky.tick();
     }
     sky.unTick();
-    print(sky.time);
+    return new Result(sky.time);
   }
 }
@@ -68,7 +68,7 @@ public class Day11  extends PuzzleDay{
    * total power?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
     int[][] powerGrid = getPowerGrid();
 
 
@@ -88,9 +88,7 @@ public class Day11  extends PuzzleDay{
       }
     }
 
-    print(maxPowerX + 1);
-    print(maxPowerY + 1);
-    return;
+    return new Result((maxPowerX + 1) + "," + (maxPowerY + 1));
   }
 
   private int calcPowerSquare(int x, int y, int size, int[][] grid){
@@ -132,7 +130,7 @@ public class Day11  extends PuzzleDay{
    * What is the X,Y,size identifier of the square with the largest total power?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
     int[][] powerGrid = getPowerGrid();
     int gridSize = 300;
 
@@ -162,10 +160,7 @@ public class Day11  extends PuzzleDay{
       }
     }
 
-    print(maxPowerX + 1);
-    print(maxPowerY + 1);
-    print(maxPowerSize);
-    return;
+    return new Result((maxPowerX + 1) + "," + (maxPowerY + 1) + "," + maxPowerSize);
 
 
   }
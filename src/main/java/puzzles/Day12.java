@@ -104,27 +104,30 @@ public class Day12 extends PuzzleDay {
 
 
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
       Life life = getLife();
-      life.print();
+      print(life::render);
       for(int i = 0; i < 20; i++){
         life.tick();
-        life.print();
+        print(life::render);
       }
-      print("");
-      print(life.sumPlantContainingPots());
-      return;
+      return new Result(life.sumPlantContainingPots());
   }
 
   public Life getLife(){
     String potsString = getInput().get(0).substring(15);
+    return new Life(potsString, getParsed("rules", this::parseRules));
+  }
+
+  private Map<String, String> parseRules(){
     Map<String, String> rules = new HashMap<>();
-    getRegexInput("([\\.#]{5}) => ([\\.#])").forEach(matcher -> {
-      if(matcher.find()){
-        rules.put(matcher.group(1), matcher.group(2));
+    //##.#. => #
+    for(String line : getInput()){
+      if(line.length() == 10 && line.startsWith(" => ", 5)){
+        rules.put(line.substring(0, 5), line.substring(9));
       }
-    });
-    return new Life(potsString, rules);
+    }
+    return rules;
   }
 
   public class Life {
@@ -154,9 +157,8 @@ public class Day12 extends PuzzleDay {
       extendPots();
     }
 
-    public void print(){
-      System.out.print("\n");
-      pots.forEach(s -> {System.out.print(s);});
+    public String render(){
+      return String.join("", pots);
     }
 
     public int sumPlantContainingPots(){
@@ -209,7 +211,7 @@ public class Day12 extends PuzzleDay {
    * which contain a plant?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
     Life life = getLife();
     int lastSum = life.sumPlantContainingPots();
     int lastDiff = 0;
@@ -218,16 +220,16 @@ public class Day12 extends PuzzleDay {
 //      life.print();
       int sum = life.sumPlantContainingPots();
 
-      print("gen: " + ( i + 1) + "sum: " + life.sumPlantContainingPots() + " diff: " + (sum - lastSum));
+      int gen = i + 1;
+      int diff = sum - lastSum;
+      print(() -> "gen: " + gen + "sum: " + sum + " diff: " + diff);
       lastDiff = sum - lastSum;
       lastSum = sum;
 
     }
-    print("");
     print(life.sumPlantContainingPots());
 
     long future = ((50000000000L - (long)300) *(long)lastDiff) + (long)(lastSum);
-    print(future);
-    return;
+    return new Result(future);
   }
 }
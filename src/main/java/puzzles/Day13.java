@@ -1,5 +1,6 @@
 package puzzles;
 
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -186,19 +187,19 @@ public class Day13 extends PuzzleDay {
    * In this example, the location of the first crash is 7,3.
    */
   @Override
-  public void solvePart1() {
-    Mine mine = new Mine(getInput());
-     print(mine.print());
-  
+  public Result solvePart1() {
+    Mine mine = timed("build", () -> new Mine(getInput()));
+    print(mine::print);
 
-    while(!mine.tick()){
-      print(mine.print());
-    }
+    timed("simulate", () -> {
+      while (!mine.tick()) {
+        print(mine::print);
+      }
+    });
 
-    print(mine.print());
+    print(mine::print);
     Point collisionPoint = mine.getCollision();
-    print("Collision: (" + collisionPoint.x + "," + collisionPoint.y + ")");
-    return;
+    return new Result(collisionPoint.x + "," + collisionPoint.y);
   }
 
   public class Mine{
@@ -450,18 +451,18 @@ public class Day13 extends PuzzleDay {
    * left?
    */
   @Override
-  public void solvePart2() {
-    Mine mine = new Mine(getInput());
-    print(mine.print());
+  public Result solvePart2() {
+    Mine mine = timed("build", () -> new Mine(getInput()));
+    print(mine::print);
 
-    List<Cart> activeCarts;
-    while((activeCarts = mine.getCartQueue()).size() > 1){
-      mine.tickInstantRemoveCollisions();
-//      print(mine.print());
-    }
+    List<Cart> activeCarts = timed("simulate", () -> {
+      List<Cart> carts;
+      while ((carts = mine.getCartQueue()).size() > 1) {
+        mine.tickInstantRemoveCollisions();
+      }
+      return carts;
+    });
     Cart last = activeCarts.get(0);
-    print("Last Cart: (" + last.pos.x + "," + last.pos.y + ")");
-
-    return;
+    return new Result(last.pos.x + "," + last.pos.y);
   }
 }
@@ -73,7 +73,7 @@ public class Day14 extends PuzzleDay {
    * puzzle input?
    */
   @Override
-  public void solvePart1() {
+  public Result solvePart1() {
     int afterNumRecipes = Integer.parseInt(getInput().get(0));
     Kitchen kitchen = new Kitchen();
 
@@ -81,11 +81,12 @@ public class Day14 extends PuzzleDay {
       kitchen.cook();
     }
     
+    StringBuilder scores = new StringBuilder();
     for(int i = afterNumRecipes; i < afterNumRecipes + 10; i++){
-      System.out.print(kitchen.recipes.get(i));
+      scores.append(kitchen.recipes.get(i));
     }    
 
-    return;
+    return new Result(scores.toString());
   }
   
   public class Kitchen{
@@ -145,7 +146,7 @@ public class Day14 extends PuzzleDay {
    * input?
    */
   @Override
-  public void solvePart2() {
+  public Result solvePart2() {
     List<Integer> search = getInput().get(0).chars()
             .map(c -> Integer.parseInt( Character.toString((char) c)))
             .boxed()
@@ -163,8 +164,7 @@ public class Day14 extends PuzzleDay {
         lastSearchIndex++;
       }
     }
-    print(lastSearchIndex);
-    return;
+    return new Result(lastSearchIndex);
   }
   
   public boolean foundAtIndex(List<Integer> search, int indexStart, List<Integer> haystack){
@@ -1,5 +1,6 @@
 package puzzles;
 
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -336,16 +337,15 @@ public class Day15 extends PuzzleDay {
    */
 
   @Override
-  public void solvePart1() {
-    Game game = new Game(getInput());
-    int i = 0;
-    print(game);
+  public Result solvePart1() {
+    Game game = timed("build", () -> new Game(getInput()));
+    print(game::toString);
 
-    while (game.processRound()){
-      print(game);
-      
-    }
-    print(game.round * game.remainingHealth());
+    timed("simulate", () -> {
+      while (game.processRound()) {
+        print(game::toString);
+      }
+    });
     
 //    print(game.navMesh);
 
@@ -363,8 +363,7 @@ public class Day15 extends PuzzleDay {
 
     print("Rounds: " + game.round);
     print("Health: " + game.remainingHealth());
-    print("Outcome: " + (game.round * game.remainingHealth()));
-    return;
+    return new Result(game.round * game.remainingHealth());
   }
 
   public class Game {
@@ -727,7 +726,7 @@ public class Day15 extends PuzzleDay {
       if(node == null){
         return;
       }
-      fillCost(node, end, pathNodes);
+      timed("fillCost", () -> fillCost(node, end, pathNodes));
     }
     
     private void fillCost(NavNode node, Vector2 end, Set<NavNode> pathNodes){
@@ -836,7 +835,7 @@ public class Day15 extends PuzzleDay {
     }
   }
   @Override
-  public void solvePart2() {
-
+  public Result solvePart2() {
+    return new Result(null);
   }
 }
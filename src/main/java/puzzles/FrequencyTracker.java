@@ -0,0 +1,73 @@
+package puzzles;
+
+import utils.LongOpenHashSet;
+import utils.LongSet;
+
+/**
+ * Day 1's running frequency for deltas that arrive over time rather than as a finished file.
+ * Each delta costs one amortized O(1) set insert until the first duplicate shows up, after that
+ * only the frequency is kept up to date and the set stops growing.
+ */
+public class FrequencyTracker {
+
+  private final LongSet seen;
+  private long frequency;
+  private long deltaCount;
+  private Long firstDuplicate;
+
+  public FrequencyTracker() {
+    this(16);
+  }
+
+  /**
+   * @param expectedDeltas sizes the seen set up front to avoid rehashing
+   */
+  public FrequencyTracker(int expectedDeltas) {
+    seen = new LongOpenHashSet(expectedDeltas + 1);
+    seen.add(0);
+  }
+
+  public void accept(int delta) {
+    frequency += delta;
+    deltaCount++;
+    if (firstDuplicate == null && !seen.add(frequency)) {
+      firstDuplicate = frequency;
+    }
+  }
+
+  public void accept(int[] deltas) {
+    accept(deltas, 0, deltas.length);
+  }
+
+  public void accept(int[] deltas, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      accept(deltas[i]);
+    }
+  }
+
+  public long getFrequency() {
+    return frequency;
+  }
+
+  public long getDeltaCount() {
+    return deltaCount;
+  }
+
+  public boolean hasDuplicate() {
+    return firstDuplicate != null;
+  }
+
+  /**
+   * @return the first frequency reached twice so far, null until there is one
+   */
+  public Long getFirstDuplicate() {
+    return firstDuplicate;
+  }
+
+  /**
+   * @return bytes held by the seen set
+   */
+  public long memoryBytes() {
+    return seen.memoryBytes();
+  }
+}
@@ -0,0 +1,273 @@
+package puzzles;
+
+import utils.LongIntOpenHashMap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Minutes asleep per guard for day 4, as a dense guard x 60 matrix of counters.  Events have to
+ * arrive in time order, either straight from a log that is already sorted or from
+ * {@link #fromSortedKeys(long[], int)}.
+ *
+ * A nap only touches its two ends in a difference array, the per minute counts are its prefix
+ * sums, rebuilt the next time they are read after new events.
+ */
+public class GuardLog {
+
+  public static final int MINUTES = 60;
+
+  static final int BEGIN_SHIFT = 0;
+  static final int FALL_ASLEEP = 1;
+  static final int WAKE_UP = 2;
+
+  private static final int EVENT_BITS = 2;
+  private static final int GUARD_BITS = 28;
+  /** what is left of a positive long, so keys still sort as signed longs */
+  private static final int TIME_BITS = 63 - EVENT_BITS - GUARD_BITS;
+
+  private final LongIntOpenHashMap indexById = new LongIntOpenHashMap();
+  private int[] guardIds = new int[16];
+  /** MINUTES + 1 per guard, so a nap ending on the hour has somewhere to end */
+  private int[] naps = new int[16 * (MINUTES + 1)];
+  private int[] asleep = new int[0];
+  private boolean dirty;
+  private Strategies strategies;
+  private int guardCount;
+
+  private int currentGuard = -1;
+  private int asleepSince = -1;
+
+  /**
+   * Pack an event into a key that sorts in time order.  The timestamp fields are nested so
+   * later dates always compare higher, with the event and guard id in the low bits.
+   */
+  public static long key(int year, int month, int day, int hour, int minute, int event,
+                         int guardId) {
+    if (guardId < 0 || guardId >= 1 << GUARD_BITS) {
+      throw new IllegalArgumentException("guard id out of range: " + guardId);
+    }
+    long time = (((((long) year * 13 + month) * 32 + day) * 24 + hour) * MINUTES) + minute;
+    if (time < 0 || time >= 1L << TIME_BITS) {
+      throw new IllegalArgumentException(
+              String.format("time out of range: %d-%d-%d %d:%d", year, month, day, hour, minute));
+    }
+    return (time << EVENT_BITS | event) << GUARD_BITS | guardId;
+  }
+
+  /**
+   * replay keys[0, length), already sorted, into a new log
+   */
+  public static GuardLog fromSortedKeys(long[] keys, int length) {
+    GuardLog log = new GuardLog();
+    for (int i = 0; i < length; i++) {
+      log.accept(eventOf(keys[i]), minuteOf(keys[i]), guardOf(keys[i]));
+    }
+    return log;
+  }
+
+  static int eventOf(long key) {
+    return (int) (key >>> GUARD_BITS) & ((1 << EVENT_BITS) - 1);
+  }
+
+  static int guardOf(long key) {
+    return (int) key & ((1 << GUARD_BITS) - 1);
+  }
+
+  static int minuteOf(long key) {
+    return (int) ((key >>> GUARD_BITS + EVENT_BITS) % MINUTES);
+  }
+
+  static LocalDate dateOf(long key) {
+    long days = (key >>> GUARD_BITS + EVENT_BITS) / MINUTES / 24;
+    return LocalDate.of((int) (days / 32 / 13), (int) (days / 32 % 13), (int) (days % 32));
+  }
+
+  public void accept(int event, int minute, int guardId) {
+    switch (event) {
+      case BEGIN_SHIFT:
+        beginShift(guardId);
+        break;
+      case FALL_ASLEEP:
+        fallAsleep(minute);
+        break;
+      case WAKE_UP:
+        wakeUp(minute);
+        break;
+      default:
+        throw new IllegalArgumentException("unknown event " + event);
+    }
+  }
+
+  public void beginShift(int guardId) {
+    int index = indexById.get(guardId);
+    if (index == LongIntOpenHashMap.NO_VALUE) {
+      index = guardCount++;
+      if (index == guardIds.length) {
+        guardIds = Arrays.copyOf(guardIds, index * 2);
+        naps = Arrays.copyOf(naps, index * 2 * (MINUTES + 1));
+      }
+      guardIds[index] = guardId;
+      indexById.put(guardId, index);
+      dirty = true;
+    }
+    currentGuard = index;
+    asleepSince = -1;
+  }
+
+  public void fallAsleep(int minute) {
+    asleepSince = minute;
+  }
+
+  public void wakeUp(int minute) {
+    if (currentGuard < 0 || asleepSince < 0) {
+      throw new IllegalStateException("wake up at minute " + minute + " without falling asleep");
+    }
+    int row = currentGuard * (MINUTES + 1);
+    naps[row + asleepSince]++;
+    naps[row + minute]--;
+    asleepSince = -1;
+    dirty = true;
+  }
+
+  public int guardCount() {
+    return guardCount;
+  }
+
+  public int guardId(int guard) {
+    return guardIds[guard];
+  }
+
+  /**
+   * @return how many times the guard was asleep during the minute
+   */
+  public int asleep(int guard, int minute) {
+    return counts()[guard * MINUTES + minute];
+  }
+
+  public int totalAsleep(int guard) {
+    int[] counts = counts();
+    int total = 0;
+    for (int m = 0; m < MINUTES; m++) {
+      total += counts[guard * MINUTES + m];
+    }
+    return total;
+  }
+
+  /**
+   * @return the minute the guard was asleep most often, the earliest on a tie
+   */
+  public int sleepiestMinute(int guard) {
+    int[] counts = counts();
+    int row = guard * MINUTES;
+    int best = 0;
+    for (int m = 1; m < MINUTES; m++) {
+      if (counts[row + m] > counts[row + best]) {
+        best = m;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * both strategies' picks, from one parallel pass over the guards
+   */
+  public synchronized Strategies strategies() {
+    if (strategies == null || dirty) {
+      int[] counts = counts();
+      strategies = IntStream.range(0, guardCount).parallel()
+              .collect(Strategies::new, (best, guard) -> best.accept(counts, guard),
+                      Strategies::combine);
+    }
+    return strategies;
+  }
+
+  private synchronized int[] counts() {
+    if (dirty || asleep.length != guardCount * MINUTES) {
+      asleep = new int[guardCount * MINUTES];
+      for (int guard = 0; guard < guardCount; guard++) {
+        int running = 0;
+        for (int m = 0; m < MINUTES; m++) {
+          running += naps[guard * (MINUTES + 1) + m];
+          asleep[guard * MINUTES + m] = running;
+        }
+      }
+      dirty = false;
+      strategies = null;
+    }
+    return asleep;
+  }
+
+  /**
+   * Reduction container for the two strategies, a guard only replaces the current pick when it
+   * is strictly better so ties go to the guard seen first.
+   */
+  public static class Strategies {
+    /** strategy 1, most minutes asleep overall */
+    int sleepiestGuard = -1;
+    int sleepiestTotal = -1;
+    int sleepiestGuardMinute;
+    /** strategy 2, most often asleep on the same minute */
+    int frequentGuard = -1;
+    int frequentMinute;
+    int frequentCount = -1;
+
+    void accept(int[] counts, int guard) {
+      int row = guard * MINUTES;
+      int total = 0;
+      int bestMinute = 0;
+      for (int m = 0; m < MINUTES; m++) {
+        total += counts[row + m];
+        if (counts[row + m] > counts[row + bestMinute]) {
+          bestMinute = m;
+        }
+      }
+      if (total > sleepiestTotal) {
+        sleepiestGuard = guard;
+        sleepiestTotal = total;
+        sleepiestGuardMinute = bestMinute;
+      }
+      if (counts[row + bestMinute] > frequentCount) {
+        frequentGuard = guard;
+        frequentMinute = bestMinute;
+        frequentCount = counts[row + bestMinute];
+      }
+    }
+
+    void combine(Strategies other) {
+      if (other.sleepiestTotal > sleepiestTotal) {
+        sleepiestGuard = other.sleepiestGuard;
+        sleepiestTotal = other.sleepiestTotal;
+        sleepiestGuardMinute = other.sleepiestGuardMinute;
+      }
+      if (other.frequentCount > frequentCount) {
+        frequentGuard = other.frequentGuard;
+        frequentMinute = other.frequentMinute;
+        frequentCount = other.frequentCount;
+      }
+    }
+
+    /**
+     * @return guard index with the most minutes asleep, -1 without any guards
+     */
+    public int getSleepiestGuard() {
+      return sleepiestGuard;
+    }
+
+    public int getSleepiestGuardMinute() {
+      return sleepiestGuardMinute;
+    }
+
+    /**
+     * @return guard index most often asleep on the same minute, -1 without any guards
+     */
+    public int getFrequentGuard() {
+      return frequentGuard;
+    }
+
+    public int getFrequentMinute() {
+      return frequentMinute;
+    }
+  }
+}
@@ -1,18 +1,26 @@
 package puzzles;
 
+import utils.InputCache;
 import utils.InputParser;
+import utils.IntScanner;
+import utils.LineCursor;
+import utils.PhaseRecorder;
+import utils.PhaseRecorder.Phase;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 public abstract class PuzzleDay {
 
   protected String inputFileName;
+  protected TraceSink traceSink = TraceSink.NONE;
+  protected PhaseRecorder phaseRecorder;
 
 
   public PuzzleDay(String inputFileName) {
@@ -23,24 +31,155 @@ public abstract class PuzzleDay {
     this.inputFileName = this.getClass().getSimpleName().toLowerCase() + ".txt";
   }
 
-  public abstract void solvePart1();
-  public abstract void solvePart2();
+  public abstract Result solvePart1();
+  public abstract Result solvePart2();
 
+  public void setTraceSink(TraceSink traceSink) {
+    this.traceSink = traceSink;
+  }
+
+  /**
+   * record the time and allocations of each phase of the solve, null to stop recording
+   */
+  public void setPhaseRecorder(PhaseRecorder phaseRecorder) {
+    this.phaseRecorder = phaseRecorder;
+  }
+
+  /**
+   * start timing a phase of the solve, close it when the phase is done.  Usually simpler
+   * through {@link #timed(String, Supplier)}.
+   */
+  protected Phase phase(String name){
+    return phaseRecorder == null ? Phase.NOOP : phaseRecorder.start(name);
+  }
+
+  /**
+   * run one phase of the solve and record it under name, e.g.
+   * Fabric fabric = timed("build", () -> buildFabric(squares));
+   */
+  protected <T> T timed(String name, Supplier<T> work){
+    Phase phase = phase(name);
+    try {
+      return work.get();
+    } finally {
+      phase.close();
+    }
+  }
+
+  protected void timed(String name, Runnable work){
+    Phase phase = phase(name);
+    try {
+      work.run();
+    } finally {
+      phase.close();
+    }
+  }
+
+  /**
+   * solve a different input, either a classpath resource or a path on disk
+   */
+  public void setInputFileName(String inputFileName) {
+    this.inputFileName = inputFileName;
+  }
+
+  /**
+   * @return the input lines, read once and shared so they can't be modified.
+   * @throws UncheckedIOException if the input can't be read, never an empty list in its place
+   */
   protected List<String> getInput(){
     try {
-      return InputParser.getInputStrings(inputFileName);
+      return InputCache.SHARED.get(inputFileName, "lines", this::readInput);
     } catch (IOException e) {
-      return new LinkedList<>(); // not really useful.
+      throw new UncheckedIOException(e);
     }
   }
 
-  protected List<Matcher> getRegexInput(String patternStr){
-    Pattern pattern = Pattern.compile(patternStr);
-    return getInput().stream().map(pattern::matcher).collect(Collectors.toList());
+  private List<String> readInput(){
+    return timed("read", () -> {
+      try {
+        return Collections.unmodifiableList(InputParser.getInputStrings(inputFileName));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  /**
+   * parse the input once and share the model between both parts and later runs of this day.
+   * The model is shared so solvers must not modify it.
+   */
+  protected <T> T getParsed(String model, Supplier<T> parser){
+    try {
+      return InputCache.SHARED.get(inputFileName, getClass().getName() + "." + model,
+              () -> timed("parse", parser));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * read the input a line at a time without loading it all, for when the solver does not need
+   * random access to the lines.
+   */
+  protected LineCursor getInputCursor(){
+    return new LineCursor(getInputBuffer());
+  }
+
+  /**
+   * the raw (usually memory mapped) input, for splitting into chunks to parse in parallel
+   */
+  protected ByteBuffer getInputBuffer(){
+    try {
+      return InputParser.map(inputFileName);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * the raw input as line aligned regions of at most 2 GB each, for inputs too large for
+   * {@link #getInputBuffer()}
+   */
+  protected ByteBuffer[] getInputRegions(){
+    try {
+      return InputParser.mapRegions(inputFileName);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * scan the same number of ints out of every line into one flat array, line i's values start
+   * at i * fieldsPerLine.  Lines without enough ints are skipped.
+   */
+  protected int[] getIntInput(int fieldsPerLine){
+    int[] values = new int[fieldsPerLine * 1024];
+    int size = 0;
+    IntScanner scanner = new IntScanner();
+    LineCursor cursor = getInputCursor();
+    while(cursor.next()){
+      if(size + fieldsPerLine > values.length){
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      if(scanner.reset(cursor).nextInts(values, size, fieldsPerLine) == fieldsPerLine){
+        size += fieldsPerLine;
+      }
+    }
+    return Arrays.copyOf(values, size);
   }
 
   protected void print(Object obj){
-    System.out.println(obj);
+    traceSink.trace(obj);
+  }
+
+  /**
+   * only builds the output when something is listening, use for anything expensive to render
+   * like full boards.
+   */
+  protected void print(Supplier<?> obj){
+    if(traceSink != TraceSink.NONE){
+      traceSink.trace(obj.get());
+    }
   }
   
   protected List<Integer> getIntegerList(int size, int initialValue){
@@ -0,0 +1,56 @@
+package puzzles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Every solved day, registered at compile time so looking a puzzle up needs no reflection
+ * (faster startup, and nothing to configure for native images).  Add new days here.
+ */
+public final class Puzzles {
+
+  private static final Map<Integer, Supplier<PuzzleDay>> DAYS = new LinkedHashMap<>();
+
+  static {
+    DAYS.put(1, Day01::new);
+    DAYS.put(2, Day02::new);
+    DAYS.put(3, Day03::new);
+    DAYS.put(4, Day04::new);
+    DAYS.put(5, Day05::new);
+    DAYS.put(6, Day06::new);
+    DAYS.put(7, Day07::new);
+    DAYS.put(8, Day08::new);
+    DAYS.put(9, Day09::new);
+    DAYS.put(10, Day10::new);
+    DAYS.put(11, Day11::new);
+    DAYS.put(12, Day12::new);
+    DAYS.put(13, Day13::new);
+    DAYS.put(14, Day14::new);
+    DAYS.put(15, Day15::new);
+  }
+
+  private Puzzles() {
+  }
+
+  /**
+   * @throws IllegalArgumentException if the day has no puzzle
+   */
+  public static PuzzleDay create(int day) {
+    Supplier<PuzzleDay> supplier = DAYS.get(day);
+    if (supplier == null) {
+      throw new IllegalArgumentException("no puzzle for day " + day);
+    }
+    return supplier.get();
+  }
+
+  /**
+   * @return every day that has a puzzle, in order
+   */
+  public static List<Integer> days() {
+    return Collections.unmodifiableList(new ArrayList<>(DAYS.keySet()));
+  }
+}
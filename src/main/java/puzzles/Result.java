@@ -0,0 +1,26 @@
+package puzzles;
+
+/**
+ * Answer produced by a {@link PuzzleDay} part.  A null answer means the part has not been solved.
+ */
+public class Result {
+
+  private final Object answer;
+
+  public Result(Object answer) {
+    this.answer = answer;
+  }
+
+  public Object getAnswer() {
+    return answer;
+  }
+
+  public boolean isSolved() {
+    return answer != null;
+  }
+
+  @Override
+  public String toString() {
+    return isSolved() ? answer.toString() : "unsolved";
+  }
+}
@@ -0,0 +1,272 @@
+package puzzles;
+
+import utils.LongIntOpenHashMap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Every nap from the day 4 logs in columns (guard, date, start minute, end minute), kept in time
+ * order so a date range is a contiguous block of rows found through the date index.  Each
+ * guard's rows are also indexed, so per guard queries only touch that guard's naps.
+ *
+ * Built once from the parsed events, after that every query is a scan of primitive arrays.
+ */
+public class SleepStore {
+
+  private static final int MINUTES = GuardLog.MINUTES;
+
+  private final LongIntOpenHashMap indexById = new LongIntOpenHashMap();
+  private int[] guardIds = new int[16];
+  private long[] totals = new long[16];
+  private int guardCount;
+
+  private int[] guard = new int[1024];
+  private int[] day = new int[1024];
+  private byte[] start = new byte[1024];
+  private byte[] end = new byte[1024];
+  private int size;
+
+  /** distinct epoch days with naps, and the first row of each (plus one past the last row) */
+  private int[] dates;
+  private int[] dateRows;
+  /** rows of guard g are guardRows[guardStart[g]] to guardRows[guardStart[g + 1] - 1] */
+  private int[] guardStart;
+  private int[] guardRows;
+
+  private SleepStore() {
+  }
+
+  /**
+   * read the naps out of time ordered event keys, see {@link GuardLog#key}
+   */
+  public static SleepStore fromSortedKeys(long[] keys, int length) {
+    SleepStore store = new SleepStore();
+    int currentGuard = -1;
+    int asleepSince = -1;
+    for (int i = 0; i < length; i++) {
+      long key = keys[i];
+      switch (GuardLog.eventOf(key)) {
+        case GuardLog.BEGIN_SHIFT:
+          currentGuard = store.guardIndex(GuardLog.guardOf(key));
+          asleepSince = -1;
+          break;
+        case GuardLog.FALL_ASLEEP:
+          asleepSince = GuardLog.minuteOf(key);
+          break;
+        case GuardLog.WAKE_UP:
+          if (currentGuard < 0 || asleepSince < 0) {
+            throw new IllegalStateException("wake up without falling asleep");
+          }
+          store.add(currentGuard, (int) GuardLog.dateOf(key).toEpochDay(), asleepSince,
+                  GuardLog.minuteOf(key));
+          asleepSince = -1;
+          break;
+        default:
+          throw new IllegalArgumentException("unknown event in key " + key);
+      }
+    }
+    store.buildIndexes();
+    return store;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int guardCount() {
+    return guardCount;
+  }
+
+  public long totalAsleep(int guardId) {
+    int index = indexById.get(guardId);
+    return index == LongIntOpenHashMap.NO_VALUE ? 0 : totals[index];
+  }
+
+  /**
+   * @return ids of the k guards with the most minutes asleep, sleepiest first
+   */
+  public int[] topSleepiestGuards(int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative: " + k);
+    }
+    k = Math.min(k, guardCount);
+    if (k == 0) {
+      return new int[0];
+    }
+    //selection over the guard totals, k is expected to be small next to the guard count
+    int[] top = new int[k];
+    int found = 0;
+    for (int g = 0; g < guardCount; g++) {
+      if (found < k || totals[g] > totals[top[found - 1]]) {
+        int i = found < k ? found++ : found - 1;
+        while (i > 0 && totals[top[i - 1]] < totals[g]) {
+          top[i] = top[i - 1];
+          i--;
+        }
+        top[i] = g;
+      }
+    }
+    int[] ids = new int[k];
+    for (int i = 0; i < k; i++) {
+      ids[i] = guardIds[top[i]];
+    }
+    return ids;
+  }
+
+  /**
+   * @return naps of every guard on each minute, over the dates from and to (inclusive)
+   */
+  public int[] histogram(LocalDate from, LocalDate to) {
+    int[] naps = new int[MINUTES + 1];
+    int last = firstRowAfter(to);
+    for (int row = firstRowFrom(from); row < last; row++) {
+      naps[start[row]]++;
+      naps[end[row]]--;
+    }
+    return prefixSums(naps);
+  }
+
+  /**
+   * @return naps of one guard on each minute, over the dates from and to (inclusive)
+   */
+  public int[] histogram(int guardId, LocalDate from, LocalDate to) {
+    int[] naps = new int[MINUTES + 1];
+    int index = indexById.get(guardId);
+    if (index != LongIntOpenHashMap.NO_VALUE) {
+      long fromDay = from.toEpochDay();
+      long toDay = to.toEpochDay();
+      //a guard's rows are in time order too, so skip straight to the first in range
+      int first = guardStart[index];
+      int last = guardStart[index + 1];
+      int low = first;
+      int high = last;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (day[guardRows[mid]] < fromDay) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      for (int i = low; i < last && day[guardRows[i]] <= toDay; i++) {
+        naps[start[guardRows[i]]]++;
+        naps[end[guardRows[i]]]--;
+      }
+    }
+    return prefixSums(naps);
+  }
+
+  public int[] histogram(int guardId) {
+    return histogram(guardId, LocalDate.MIN, LocalDate.MAX);
+  }
+
+  /**
+   * @return the minute most guards were asleep on over the dates, the earliest on a tie
+   */
+  public int sleepiestMinute(LocalDate from, LocalDate to) {
+    return sleepiestMinute(histogram(from, to));
+  }
+
+  public static int sleepiestMinute(int[] histogram) {
+    int best = 0;
+    for (int m = 1; m < histogram.length; m++) {
+      if (histogram[m] > histogram[best]) {
+        best = m;
+      }
+    }
+    return best;
+  }
+
+  private int guardIndex(int guardId) {
+    int index = indexById.get(guardId);
+    if (index == LongIntOpenHashMap.NO_VALUE) {
+      index = guardCount++;
+      if (index == guardIds.length) {
+        guardIds = Arrays.copyOf(guardIds, index * 2);
+        totals = Arrays.copyOf(totals, index * 2);
+      }
+      guardIds[index] = guardId;
+      indexById.put(guardId, index);
+    }
+    return index;
+  }
+
+  private void add(int guardIndex, int epochDay, int from, int to) {
+    if (size == guard.length) {
+      guard = Arrays.copyOf(guard, size * 2);
+      day = Arrays.copyOf(day, size * 2);
+      start = Arrays.copyOf(start, size * 2);
+      end = Arrays.copyOf(end, size * 2);
+    }
+    guard[size] = guardIndex;
+    day[size] = epochDay;
+    start[size] = (byte) from;
+    end[size] = (byte) to;
+    totals[guardIndex] += to - from;
+    size++;
+  }
+
+  private void buildIndexes() {
+    int distinct = 0;
+    dates = new int[size];
+    dateRows = new int[size + 1];
+    for (int row = 0; row < size; row++) {
+      if (row == 0 || day[row] != day[row - 1]) {
+        dates[distinct] = day[row];
+        dateRows[distinct++] = row;
+      }
+    }
+    dateRows[distinct] = size;
+    dates = Arrays.copyOf(dates, distinct);
+    dateRows = Arrays.copyOf(dateRows, distinct + 1);
+
+    guardStart = new int[guardCount + 1];
+    for (int row = 0; row < size; row++) {
+      guardStart[guard[row] + 1]++;
+    }
+    for (int g = 0; g < guardCount; g++) {
+      guardStart[g + 1] += guardStart[g];
+    }
+    guardRows = new int[size];
+    int[] fill = Arrays.copyOf(guardStart, guardCount);
+    for (int row = 0; row < size; row++) {
+      guardRows[fill[guard[row]]++] = row;
+    }
+  }
+
+  private int firstRowFrom(LocalDate date) {
+    return dateRows[dateIndex(date.toEpochDay())];
+  }
+
+  private int firstRowAfter(LocalDate date) {
+    return dateRows[dateIndex(date.toEpochDay() + 1)];
+  }
+
+  /**
+   * @return index of the first date on or after epochDay
+   */
+  private int dateIndex(long epochDay) {
+    int low = 0;
+    int high = dates.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (dates[mid] < epochDay) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int[] prefixSums(int[] naps) {
+    int[] histogram = new int[MINUTES];
+    int running = 0;
+    for (int m = 0; m < MINUTES; m++) {
+      running += naps[m];
+      histogram[m] = running;
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,14 @@
+package puzzles;
+
+/**
+ * Destination for the intermediate output (boards, generations, etc) a puzzle prints while it
+ * is solving.  Defaults to {@link #NONE} so solving does not contend on stdout.
+ */
+public interface TraceSink {
+
+  TraceSink NONE = obj -> {};
+
+  TraceSink STDOUT = System.out::println;
+
+  void trace(Object obj);
+}
@@ -0,0 +1,75 @@
+package runner;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a batch of {@link PuzzleTask}s on an executor.  The days are independent so the
+ * makespan of the batch should be close to the slowest task given enough cores.
+ */
+public class BatchRunner {
+
+  private final ExecutorService executor;
+  private long makespanNanos;
+
+  public BatchRunner(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  public static ExecutorService forkJoinPool(int parallelism) {
+    return new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * virtual thread per task executor, looked up reflectively so we still build for java 8.
+   * @throws UnsupportedOperationException when the running jdk has no virtual threads
+   */
+  public static ExecutorService virtualThreads() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+              .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("virtual threads need jdk 21+", e);
+    }
+  }
+
+  public List<PuzzleTask> run(List<PuzzleTask> tasks) throws InterruptedException {
+    long start = System.nanoTime();
+    List<Future<PuzzleTask>> futures = executor.invokeAll(tasks);
+    makespanNanos = System.nanoTime() - start;
+
+    List<PuzzleTask> completed = new ArrayList<>(futures.size());
+    for (Future<PuzzleTask> future : futures) {
+      try {
+        completed.add(future.get());
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("puzzle task escaped its own error handling", e);
+      }
+    }
+    return completed;
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  public long getMakespanNanos() {
+    return makespanNanos;
+  }
+
+  public void report(List<PuzzleTask> tasks, PrintStream out) {
+    long totalNanos = 0;
+    for (PuzzleTask task : tasks) {
+      out.println(task);
+      totalNanos += task.getWallNanos();
+    }
+    out.println(String.format("Tasks: %d, total task time: %.1f ms, makespan: %.1f ms",
+            tasks.size(), totalNanos / 1e6, makespanNanos / 1e6));
+  }
+}
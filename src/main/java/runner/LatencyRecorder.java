@@ -0,0 +1,48 @@
+package runner;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent request latencies for percentile reporting.
+ */
+public class LatencyRecorder {
+
+  private final long[] samples;
+  private long count;
+
+  public LatencyRecorder(int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  public synchronized void record(long nanos) {
+    samples[(int) (count++ % samples.length)] = nanos;
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * nearest rank percentile over the kept samples
+   * @param percentile 0 - 100
+   * @return the latency in nanos, 0 when nothing has been recorded
+   */
+  public long percentile(double percentile) {
+    long[] sorted;
+    synchronized (this) {
+      sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+    }
+    if (sorted.length == 0) {
+      return 0;
+    }
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("requests: %d, p50: %.3f ms, p99: %.3f ms", getCount(),
+            percentile(50) / 1e6, percentile(99) / 1e6);
+  }
+}
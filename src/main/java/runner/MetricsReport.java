@@ -0,0 +1,51 @@
+package runner;
+
+import utils.PhaseRecorder.PhaseStats;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the phase metrics of finished tasks as csv or json, one row per day, part and phase.
+ */
+public class MetricsReport {
+
+  public static void writeCsv(List<PuzzleTask> tasks, PrintWriter out) {
+    out.println("day,part,phase,count,wall_ms,cpu_ms,allocated_bytes");
+    for (PuzzleTask task : tasks) {
+      for (PhaseStats stats : task.getPhases().values()) {
+        out.println(String.format(Locale.ROOT, "%d,%d,%s,%d,%.3f,%.3f,%d", task.getDay(),
+                task.getPart(), stats.getName(), stats.getCount(), stats.getWallNanos() / 1e6,
+                stats.getCpuNanos() / 1e6, stats.getAllocatedBytes()));
+      }
+    }
+    out.flush();
+  }
+
+  public static void writeJson(List<PuzzleTask> tasks, PrintWriter out) {
+    out.println("[");
+    for (int i = 0; i < tasks.size(); i++) {
+      PuzzleTask task = tasks.get(i);
+      out.println(String.format(Locale.ROOT,
+              "  {\"day\": %d, \"part\": %d, \"wall_ms\": %.3f, \"phases\": [",
+              task.getDay(), task.getPart(), task.getWallNanos() / 1e6));
+      int phase = 0;
+      for (PhaseStats stats : task.getPhases().values()) {
+        out.print(String.format(Locale.ROOT,
+                "    {\"phase\": \"%s\", \"count\": %d, \"wall_ms\": %.3f, "
+                        + "\"cpu_ms\": %.3f, \"allocated_bytes\": %d}", jsonEscape(stats.getName()),
+                stats.getCount(), stats.getWallNanos() / 1e6, stats.getCpuNanos() / 1e6,
+                stats.getAllocatedBytes()));
+        out.println(++phase < task.getPhases().size() ? "," : "");
+      }
+      out.println(i < tasks.size() - 1 ? "  ]}," : "  ]}");
+    }
+    out.println("]");
+    out.flush();
+  }
+
+  private static String jsonEscape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+}
@@ -0,0 +1,88 @@
+package runner;
+
+import puzzles.PuzzleDay;
+import puzzles.Puzzles;
+import puzzles.Result;
+import puzzles.TraceSink;
+import utils.PhaseRecorder;
+import utils.PhaseRecorder.PhaseStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A single day/part to solve.  Each task gets its own puzzle instance so tasks can run on any
+ * thread without sharing state.
+ */
+public class PuzzleTask implements Callable<PuzzleTask> {
+
+  private final int day;
+  private final int part;
+  private TraceSink traceSink = TraceSink.NONE;
+  private PhaseRecorder phaseRecorder;
+  private Result result;
+  private Exception error;
+  private long wallNanos;
+
+  public PuzzleTask(int day, int part) {
+    this.day = day;
+    this.part = part;
+  }
+
+  @Override
+  public PuzzleTask call() {
+    long start = System.nanoTime();
+    try {
+      PuzzleDay puzzleDay = Puzzles.create(day);
+      puzzleDay.setTraceSink(traceSink);
+      puzzleDay.setPhaseRecorder(phaseRecorder);
+      result = part == 1 ? puzzleDay.solvePart1() : puzzleDay.solvePart2();
+    } catch (Exception e) {
+      error = e;
+    }
+    wallNanos = System.nanoTime() - start;
+    return this;
+  }
+
+  public void setTraceSink(TraceSink traceSink) {
+    this.traceSink = traceSink;
+  }
+
+  public void recordPhases() {
+    this.phaseRecorder = new PhaseRecorder();
+  }
+
+  /**
+   * @return the recorded phases, empty unless {@link #recordPhases()} was called before running
+   */
+  public Map<String, PhaseStats> getPhases() {
+    return phaseRecorder == null ? Collections.emptyMap() : phaseRecorder.getPhases();
+  }
+
+  public int getDay() {
+    return day;
+  }
+
+  public int getPart() {
+    return part;
+  }
+
+  public Result getResult() {
+    return result;
+  }
+
+  public Exception getError() {
+    return error;
+  }
+
+  public long getWallNanos() {
+    return wallNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Day %02d part %d: %s (%.1f ms)", day, part,
+            error == null ? result : "failed - " + error, wallNanos / 1e6);
+  }
+}
@@ -0,0 +1,50 @@
+package runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends requests to a {@link SolverServer} listening on a local port and prints the replies.
+ *
+ * usage: SolverClient port [request...]    requests are read from stdin when none are given,
+ * e.g. SolverClient 4242 "1 1" "1 2" "3 2 /tmp/day03-big.txt" stats
+ */
+public class SolverClient {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("usage: SolverClient port [request...]");
+      System.exit(-1);
+    }
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+         BufferedReader replies = new BufferedReader(new InputStreamReader(
+                 socket.getInputStream(), StandardCharsets.UTF_8))) {
+      PrintWriter requests = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(),
+              StandardCharsets.UTF_8), true);
+      if (args.length > 1) {
+        for (int i = 1; i < args.length; i++) {
+          requests.println(args[i]);
+        }
+      } else {
+        BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in,
+                StandardCharsets.UTF_8));
+        String line;
+        while ((line = stdin.readLine()) != null) {
+          requests.println(line);
+        }
+      }
+      socket.shutdownOutput();
+
+      String reply;
+      while ((reply = replies.readLine()) != null) {
+        System.out.println(reply);
+      }
+    }
+  }
+}
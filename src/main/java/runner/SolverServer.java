@@ -0,0 +1,299 @@
+package runner;
+
+import org.apache.commons.cli.*;
+import puzzles.PuzzleDay;
+import puzzles.Puzzles;
+import puzzles.Result;
+import utils.InputParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Resident solver that keeps puzzle instances, their parsed inputs and the JIT warm between
+ * requests.  Reads one request per line, from stdin or from clients on a local socket:
+ *
+ *   day part [inputPath]   solve a part, inputPath defaults to the bundled input
+ *   stats                  request count and p50/p99 latency
+ *   quit                   close the connection
+ *
+ * Replies are one line each, "day part input: answer (latency)" or "error: message", and come
+ * back in completion order.  Requests for the same day and input are queued on one lane and
+ * run back to back on the same warm instance, different lanes run in parallel on the pool.
+ */
+public class SolverServer {
+
+  private final ExecutorService executor;
+  private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+  private final LatencyRecorder latencies = new LatencyRecorder(100_000);
+
+  public SolverServer(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  public static void main(String[] args) {
+    Options options = new Options();
+    options.addOption("s", "socket", true, "listen on this local port instead of stdin");
+    options.addOption("j", "threads", true, "number of solver threads");
+
+    CommandLine cmd;
+    try {
+      cmd = new DefaultParser().parse(options, args);
+    } catch (ParseException e) {
+      System.err.println("Parsing options: " + e.getMessage());
+      System.exit(-1);
+      return;
+    }
+
+    int threads = cmd.hasOption("j") ? Integer.parseInt(cmd.getOptionValue("j"))
+            : Runtime.getRuntime().availableProcessors();
+    SolverServer server = new SolverServer(BatchRunner.forkJoinPool(threads));
+    try {
+      if (cmd.hasOption("s")) {
+        server.listen(Integer.parseInt(cmd.getOptionValue("s")));
+      } else {
+        server.serve(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        server.shutdown();
+      }
+    } catch (IOException | InterruptedException e) {
+      System.err.println("Server stopped: " + e.getMessage());
+      System.exit(-1);
+    }
+  }
+
+  /**
+   * accept clients on the loopback interface until the process is stopped, one reader thread
+   * per connection.
+   */
+  public void listen(int port) throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+      while (true) {
+        Socket socket = serverSocket.accept();
+        Thread connection = new Thread(() -> {
+          try (Socket s = socket) {
+            serve(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8),
+                    new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+          } catch (IOException | InterruptedException e) {
+            System.err.println("Connection closed: " + e.getMessage());
+          }
+        }, "solver-connection-" + socket.getPort());
+        connection.setDaemon(true);
+        connection.start();
+      }
+    }
+  }
+
+  /**
+   * handle requests until the input ends or asks to quit, then wait for the outstanding
+   * replies.
+   */
+  public void serve(Reader input, Writer output) throws IOException, InterruptedException {
+    BufferedReader reader = new BufferedReader(input);
+    PrintWriter writer = new PrintWriter(output, true);
+    Consumer<String> reply = line -> {
+      synchronized (writer) {
+        writer.println(line);
+      }
+    };
+    Phaser outstanding = new Phaser(1);
+
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (line.equals("quit")) {
+        break;
+      }
+      if (line.equals("stats")) {
+        reply.accept(latencies.toString());
+        continue;
+      }
+      outstanding.register();
+      handle(line, response -> {
+        try {
+          reply.accept(response);
+        } finally {
+          outstanding.arriveAndDeregister();
+        }
+      });
+    }
+    outstanding.arriveAndAwaitAdvance();
+  }
+
+  /**
+   * parse and queue one "day part [inputPath]" request, reply is called once with the answer
+   * or the error.
+   */
+  public void handle(String line, Consumer<String> reply) {
+    long received = System.nanoTime();
+    String[] parts = line.split("\\s+");
+    int day;
+    int part;
+    try {
+      day = Integer.parseInt(parts[0]);
+      part = Integer.parseInt(parts[1]);
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      reply.accept("error: expected 'day part [inputPath]' but got '" + line + "'");
+      return;
+    }
+    if (part != 1 && part != 2) {
+      reply.accept("error: invalid part " + part);
+      return;
+    }
+    LaneKey key = new LaneKey(day, parts.length > 2 ? parts[2] : null);
+    if (key.inputPath != null) {
+      try {
+        InputParser.stamp(key.inputPath);
+      } catch (IOException e) {
+        reply.accept("error: no such input " + key.inputPath);
+        return;
+      }
+    }
+
+    Lane lane;
+    try {
+      lane = lanes.computeIfAbsent(key, k -> new Lane(k, newPuzzleDay(k)));
+    } catch (IllegalArgumentException e) {
+      reply.accept("error: " + e.getMessage());
+      return;
+    }
+    lane.submit(new Request(part, received, reply));
+  }
+
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+  }
+
+  public LatencyRecorder getLatencies() {
+    return latencies;
+  }
+
+  private static PuzzleDay newPuzzleDay(LaneKey key) {
+    PuzzleDay puzzleDay = Puzzles.create(key.day);
+    if (key.inputPath != null) {
+      puzzleDay.setInputFileName(key.inputPath);
+    }
+    return puzzleDay;
+  }
+
+  private static class LaneKey {
+    final int day;
+    final String inputPath;
+
+    LaneKey(int day, String inputPath) {
+      this.day = day;
+      this.inputPath = inputPath;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof LaneKey)) {
+        return false;
+      }
+      LaneKey other = (LaneKey) o;
+      return day == other.day && Objects.equals(inputPath, other.inputPath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(day, inputPath);
+    }
+
+    @Override
+    public String toString() {
+      return day + " " + (inputPath == null ? "default" : inputPath);
+    }
+  }
+
+  private static class Request {
+    final int part;
+    final long received;
+    final Consumer<String> reply;
+
+    Request(int part, long received, Consumer<String> reply) {
+      this.part = part;
+      this.received = received;
+      this.reply = reply;
+    }
+  }
+
+  /**
+   * Requests for one day and input. Only one task drains a lane at a time, so its puzzle
+   * instance is never shared between threads, and everything queued while it runs is handled
+   * in the same batch.
+   */
+  private class Lane implements Runnable {
+    final LaneKey key;
+    final PuzzleDay puzzleDay;
+    final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean scheduled = new AtomicBoolean();
+
+    Lane(LaneKey key, PuzzleDay puzzleDay) {
+      this.key = key;
+      this.puzzleDay = puzzleDay;
+    }
+
+    void submit(Request request) {
+      queue.add(request);
+      if (scheduled.compareAndSet(false, true)) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        try {
+          Request request;
+          while ((request = queue.poll()) != null) {
+            answer(request);
+          }
+        } finally {
+          scheduled.set(false);
+        }
+      } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * solve and reply to one request.  Errors (e.g. running out of memory) are replied as
+     * failures too, a request that never gets its reply would keep serve() waiting forever.
+     */
+    private void answer(Request request) {
+      String response = "failed";
+      try {
+        Result result = request.part == 1 ? puzzleDay.solvePart1() : puzzleDay.solvePart2();
+        response = result.toString().replace("\n", "\\n");
+      } catch (Throwable e) {
+        response = "failed - " + e;
+      } finally {
+        long latency = System.nanoTime() - request.received;
+        latencies.record(latency);
+        request.reply.accept(String.format("%s %d: %s (%.3f ms)", key, request.part,
+                response, latency / 1e6));
+      }
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package utils;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps parsed inputs around so part 1, part 2 and repeat runs of a day do not read and parse
+ * the same input again.  Entries are keyed by input name, the file's size and modified time
+ * (see {@link InputParser#stamp}) and model name, so a hit or a changed file costs a stat and
+ * never a pass over the input.
+ *
+ * The cache holds models for inputs adding up to at most maxInputBytes, a model being assumed
+ * to grow with its input, and drops the least recently used ones past that.  Each key is
+ * parsed once, threads missing on a key that is being parsed wait for that parse.
+ */
+public class InputCache {
+
+  /** a quarter of the heap's worth of input */
+  public static final InputCache SHARED = new InputCache(Runtime.getRuntime().maxMemory() / 4);
+
+  /** weight of inputs that can't be sized, e.g. inside an archive */
+  private static final long MIN_WEIGHT = 1 << 12;
+
+  private final long maxInputBytes;
+  private final LinkedHashMap<Key, Entry> models = new LinkedHashMap<>(16, 0.75f, true);
+  private long inputBytes;
+
+  public InputCache(long maxInputBytes) {
+    this.maxInputBytes = maxInputBytes;
+  }
+
+  /**
+   * @param model name of the parsed model, unique per parser
+   * @param parser builds the model on a miss, null results are not cached
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String inputFileName, String model, Supplier<T> parser) throws IOException {
+    Key key = new Key(inputFileName, InputParser.stamp(inputFileName), model);
+    Entry entry;
+    boolean owner = false;
+    synchronized (models) {
+      entry = models.get(key);
+      if (entry == null) {
+        entry = new Entry(Math.max(MIN_WEIGHT, InputParser.size(inputFileName)));
+        models.put(key, entry);
+        inputBytes += entry.weight;
+        owner = true;
+      }
+    }
+    if (!owner) {
+      try {
+        return (T) entry.model.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    T parsed;
+    try {
+      parsed = parser.get();
+    } catch (RuntimeException | Error e) {
+      remove(key, entry);
+      entry.model.completeExceptionally(e);
+      throw e;
+    }
+    entry.model.complete(parsed);
+    if (parsed == null) {
+      remove(key, entry);
+    } else {
+      evict();
+    }
+    return parsed;
+  }
+
+  public int size() {
+    synchronized (models) {
+      return models.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (models) {
+      models.clear();
+      inputBytes = 0;
+    }
+  }
+
+  private void remove(Key key, Entry entry) {
+    synchronized (models) {
+      if (models.remove(key, entry)) {
+        inputBytes -= entry.weight;
+      }
+    }
+  }
+
+  /**
+   * drop the least recently used parsed models until the rest fit, a model too large for the
+   * whole cache is not kept either.  Models still being parsed stay.
+   */
+  private void evict() {
+    synchronized (models) {
+      Iterator<Entry> entries = models.values().iterator();
+      while (inputBytes > maxInputBytes && entries.hasNext()) {
+        Entry entry = entries.next();
+        if (entry.model.isDone()) {
+          entries.remove();
+          inputBytes -= entry.weight;
+        }
+      }
+    }
+  }
+
+  private static class Entry {
+    final long weight;
+    final CompletableFuture<Object> model = new CompletableFuture<>();
+
+    Entry(long weight) {
+      this.weight = weight;
+    }
+  }
+
+  private static class Key {
+    final String inputFileName;
+    final long stamp;
+    final String model;
+
+    Key(String inputFileName, long stamp, String model) {
+      this.inputFileName = inputFileName;
+      this.stamp = stamp;
+      this.model = model;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return stamp == other.stamp && inputFileName.equals(other.inputFileName)
+              && model.equals(other.model);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(inputFileName, stamp, model);
+    }
+  }
+}
@@ -1,19 +1,156 @@
 package utils;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 
-import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class InputParser {
 
+  /** the most a single FileChannel.map can hand back */
+  private static final long MAX_REGION = Integer.MAX_VALUE;
 
   public static List<String> getInputStrings(String resourceFilename) throws IOException {
+    try (InputStream inputStream = open(resourceFilename)) {
+      return IOUtils.readLines(inputStream, "UTF-8");
+    }
+  }
+
+  /**
+   * Lazily stream the lines of an input, see {@link LineCursor} for the rules on the elements.
+   */
+  public static Stream<CharSequence> lines(String resourceFilename) throws IOException {
+    return cursor(resourceFilename).stream();
+  }
+
+  public static LineCursor cursor(String resourceFilename) throws IOException {
+    return new LineCursor(map(resourceFilename));
+  }
+
+  /**
+   * Memory map an input. Inputs on the file system (exploded classpath or a plain path) are
+   * mapped read only, anything else (e.g. inside a jar) is read into a heap buffer.
+   */
+  public static ByteBuffer map(String resourceFilename) throws IOException {
+    Path path = getPath(resourceFilename);
+    if (path == null) {
+      try (InputStream inputStream = open(resourceFilename)) {
+        return ByteBuffer.wrap(IOUtils.toByteArray(inputStream));
+      }
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(resourceFilename + " is too large to map in one piece, see "
+                + "mapRegions");
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Memory map an input of any size as consecutive read only regions of at most 2 GB, each
+   * ending on a line break (the last one at the end of the file), so every region can be walked
+   * by its own {@link LineCursor}.  Inputs that are not on the file system come back as a
+   * single heap buffer, like {@link #map(String)}.
+   *
+   * @throws IOException if the input can't be read or holds a line longer than a region
+   */
+  public static ByteBuffer[] mapRegions(String resourceFilename) throws IOException {
+    return mapRegions(resourceFilename, MAX_REGION);
+  }
+
+  static ByteBuffer[] mapRegions(String resourceFilename, long maxRegion) throws IOException {
+    Path path = getPath(resourceFilename);
+    if (path == null) {
+      return new ByteBuffer[]{map(resourceFilename)};
+    }
+    List<ByteBuffer> regions = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long start = 0;
+      do {
+        long length = Math.min(size - start, maxRegion);
+        ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        if (start + length < size) {
+          //cut back to the last line break, the rest of the line starts the next region
+          int end = (int) length;
+          while (end > 0 && region.get(end - 1) != '\n') {
+            end--;
+          }
+          if (end == 0) {
+            throw new IOException(resourceFilename + " has a line longer than " + maxRegion
+                    + " bytes at " + start);
+          }
+          region.limit(end);
+          length = end;
+        }
+        regions.add(region);
+        start += length;
+      } while (start < size);
+    }
+    return regions.toArray(new ByteBuffer[0]);
+  }
+
+  /**
+   * @return a cheap stamp that changes whenever the input file does (size and modified time), 0
+   * for inputs inside an archive since those can't change under us.
+   */
+  public static long stamp(String resourceFilename) throws IOException {
+    Path path = getPath(resourceFilename);
+    if (path == null) {
+      return 0;
+    }
+    return Files.getLastModifiedTime(path).toMillis() * 31 + Files.size(path);
+  }
+
+  /**
+   * @return size of the input in bytes, 0 for inputs inside an archive
+   */
+  public static long size(String resourceFilename) throws IOException {
+    Path path = getPath(resourceFilename);
+    return path == null ? 0 : Files.size(path);
+  }
 
-    File f = new File(InputParser.class.getClassLoader().getResource(resourceFilename).getFile());
+  /**
+   * @return the input as a file system path, or null if it only exists inside an archive.
+   */
+  private static Path getPath(String resourceFilename) throws IOException {
+    URL url = InputParser.class.getClassLoader().getResource(resourceFilename);
+    if (url == null) {
+      Path path = Paths.get(resourceFilename);
+      if (!Files.isRegularFile(path)) {
+        throw new FileNotFoundException(resourceFilename);
+      }
+      return path;
+    }
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return Paths.get(url.toURI());
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+  }
 
-    return FileUtils.readLines(f, "UTF-8");
+  private static InputStream open(String resourceFilename) throws IOException {
+    InputStream inputStream = InputParser.class.getClassLoader()
+            .getResourceAsStream(resourceFilename);
+    if (inputStream == null) {
+      return Files.newInputStream(Paths.get(resourceFilename));
+    }
+    return inputStream;
   }
 }
@@ -0,0 +1,120 @@
+package utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Pulls ints and single character tokens out of a line without regex groups or substrings.
+ * Anything that isn't part of a number is skipped, and a '-' or '+' only counts as a sign when
+ * it is directly in front of a digit and not directly after one, so "1518-11-01" scans as
+ * 1518, 11, 1 while "< -3,-4>" scans as -3, -4.
+ *
+ * Reset the scanner with each new line instead of creating one per line.
+ */
+public class IntScanner {
+
+  private CharSequence input = "";
+  private int pos;
+
+  public IntScanner() {
+  }
+
+  public IntScanner(CharSequence input) {
+    reset(input);
+  }
+
+  public IntScanner reset(CharSequence input) {
+    this.input = input;
+    this.pos = 0;
+    return this;
+  }
+
+  public boolean hasNextInt() {
+    return findInt() >= 0;
+  }
+
+  public int nextInt() {
+    int i = findInt();
+    if (i < 0) {
+      throw new NoSuchElementException("no more ints in \"" + input + "\"");
+    }
+    boolean negative = false;
+    char c = input.charAt(i);
+    if (c == '-' || c == '+') {
+      negative = c == '-';
+      i++;
+    }
+    //accumulate negatively like LineCursor.parseInt, so MIN_VALUE fits and overflow is caught
+    long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+    long value = 0;
+    int start = pos;
+    int length = input.length();
+    while (i < length && isDigit(input.charAt(i))) {
+      value = value * 10 - (input.charAt(i) - '0');
+      if (value < limit) {
+        while (i < length && isDigit(input.charAt(i))) {
+          i++;
+        }
+        throw new NumberFormatException("int out of range: \""
+                + input.subSequence(start, i) + "\" in \"" + input + "\"");
+      }
+      i++;
+    }
+    pos = i;
+    return (int) (negative ? value : -value);
+  }
+
+  /**
+   * read ints into out until it is full or the input runs out
+   * @return how many ints were read
+   */
+  public int nextInts(int[] out, int offset, int count) {
+    int read = 0;
+    while (read < count && hasNextInt()) {
+      out[offset + read++] = nextInt();
+    }
+    return read;
+  }
+
+  /**
+   * @return the next letter or digit that stands on its own, like the step ids in
+   * "Step C must be finished before step A can begin."
+   */
+  public char nextCharToken() {
+    int length = input.length();
+    for (int i = pos; i < length; i++) {
+      if (Character.isLetterOrDigit(input.charAt(i))
+              && (i == 0 || !Character.isLetterOrDigit(input.charAt(i - 1)))
+              && (i + 1 == length || !Character.isLetterOrDigit(input.charAt(i + 1)))) {
+        pos = i + 1;
+        return input.charAt(i);
+      }
+    }
+    throw new NoSuchElementException("no more single character tokens in \"" + input + "\"");
+  }
+
+  /**
+   * @return index of the start of the next int (its sign if it has one), -1 if there are none.
+   * Leaves pos on it so repeated calls are cheap.
+   */
+  private int findInt() {
+    int length = input.length();
+    for (int i = pos; i < length; i++) {
+      char c = input.charAt(i);
+      if (isDigit(c)) {
+        pos = i;
+        return i;
+      }
+      if ((c == '-' || c == '+') && i + 1 < length && isDigit(input.charAt(i + 1))
+              && (i == 0 || !isDigit(input.charAt(i - 1)))) {
+        pos = i;
+        return i;
+      }
+    }
+    pos = length;
+    return -1;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -0,0 +1,159 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the lines of a (usually memory mapped) buffer without creating a String per line. The
+ * cursor itself is the current line, so it is only valid until the next call to {@link #next()};
+ * call toString() on it to keep a line around.  Input is treated as single byte characters,
+ * which is all any of the puzzle inputs use.
+ */
+public class LineCursor implements CharSequence {
+
+  private final ByteBuffer buffer;
+  private final int limit;
+  private int start;
+  private int end;
+  private int nextStart;
+
+  public LineCursor(ByteBuffer buffer) {
+    this(buffer, buffer.position(), buffer.limit());
+  }
+
+  /**
+   * walk only the lines in [from, to) of the buffer, see {@link #lineStart(ByteBuffer, int)} for
+   * splitting a buffer into pieces that can be walked in parallel
+   */
+  public LineCursor(ByteBuffer buffer, int from, int to) {
+    this.buffer = buffer;
+    this.limit = to;
+    this.nextStart = from;
+  }
+
+  /**
+   * Split a buffer on line boundaries into pieces of roughly chunkBytes that can each be walked
+   * by their own cursor, e.g. from a parallel stream.  Buffers smaller than chunkBytes stay one
+   * piece.
+   *
+   * @return piece boundaries, piece i is [chunks[i], chunks[i + 1])
+   */
+  public static int[] split(ByteBuffer buffer, int chunkBytes) {
+    int count = Math.max(1, buffer.remaining() / chunkBytes);
+    int[] chunks = new int[count + 1];
+    for (int i = 0; i <= count; i++) {
+      chunks[i] = lineStart(buffer, buffer.position()
+              + (int) ((long) buffer.remaining() * i / count));
+    }
+    return chunks;
+  }
+
+  /**
+   * @return the start of the first line beginning at or after pos, or the buffer's limit
+   */
+  public static int lineStart(ByteBuffer buffer, int pos) {
+    if (pos <= buffer.position()) {
+      return buffer.position();
+    }
+    int limit = buffer.limit();
+    int i = pos;
+    while (i < limit && buffer.get(i - 1) != '\n') {
+      i++;
+    }
+    return Math.min(i, limit);
+  }
+
+  /**
+   * move to the next line
+   * @return false once there are no more lines
+   */
+  public boolean next() {
+    if (nextStart >= limit) {
+      return false;
+    }
+    start = nextStart;
+    int i = start;
+    while (i < limit && buffer.get(i) != '\n') {
+      i++;
+    }
+    end = (i > start && buffer.get(i - 1) == '\r') ? i - 1 : i;
+    nextStart = i + 1;
+    return true;
+  }
+
+  /**
+   * parse the current line as a signed decimal int, the same as Integer.parseInt would (a
+   * leading '+' is allowed).
+   */
+  public int parseInt() {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+      negative = buffer.get(i) == '-';
+      i++;
+    }
+    if (i == end) {
+      throw new NumberFormatException("For input string: \"" + this + "\"");
+    }
+    //accumulate negatively like Integer.parseInt, so MIN_VALUE fits and overflow is caught
+    long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+    long value = 0;
+    for (; i < end; i++) {
+      int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("For input string: \"" + this + "\"");
+      }
+      value = value * 10 - digit;
+      if (value < limit) {
+        throw new NumberFormatException("For input string: \"" + this + "\"");
+      }
+    }
+    return (int) (negative ? value : -value);
+  }
+
+  /**
+   * stream over the remaining lines. Every element is this cursor, so the same rules apply about
+   * not holding on to them.
+   */
+  public Stream<CharSequence> stream() {
+    return StreamSupport.stream(new Spliterators.AbstractSpliterator<CharSequence>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+      @Override
+      public boolean tryAdvance(Consumer<? super CharSequence> action) {
+        if (!LineCursor.this.next()) {
+          return false;
+        }
+        action.accept(LineCursor.this);
+        return true;
+      }
+    }, false);
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (buffer.get(start + index) & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int from, int to) {
+    return toString().substring(from, to);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = charAt(i);
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,125 @@
+package utils;
+
+/**
+ * Open addressing (linear probing) map from long keys to non-negative int values, kept in two
+ * parallel primitive arrays.  Built for indexing rows by a hash, so there is no remove.
+ */
+public class LongIntOpenHashMap {
+
+  /** returned when a key has no value */
+  public static final int NO_VALUE = -1;
+
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private int resizeAt;
+  private int zeroValue = NO_VALUE;
+
+  public LongIntOpenHashMap() {
+    this(16);
+  }
+
+  public LongIntOpenHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  public int get(long key) {
+    if (key == 0) {
+      return zeroValue;
+    }
+    int slot = slot(key);
+    while (keys[slot] != 0) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return NO_VALUE;
+  }
+
+  /**
+   * @return the value previously stored for the key, or {@link #NO_VALUE}
+   */
+  public int put(long key, int value) {
+    return store(key, value, true);
+  }
+
+  /**
+   * @return the value already stored for the key, or {@link #NO_VALUE} if value was stored
+   */
+  public int putIfAbsent(long key, int value) {
+    return store(key, value, false);
+  }
+
+  private int store(long key, int value, boolean replace) {
+    if (value < 0) {
+      throw new IllegalArgumentException("values must not be negative: " + value);
+    }
+    if (key == 0) {
+      int previous = zeroValue;
+      if (previous == NO_VALUE) {
+        size++;
+      }
+      if (previous == NO_VALUE || replace) {
+        zeroValue = value;
+      }
+      return previous;
+    }
+    int slot = slot(key);
+    while (keys[slot] != 0) {
+      if (keys[slot] == key) {
+        int previous = values[slot];
+        if (replace) {
+          values[slot] = value;
+        }
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > resizeAt) {
+      rehash(keys.length << 1);
+    }
+    return NO_VALUE;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    resizeAt = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void rehash(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalStateException("map is too large to grow");
+    }
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slot(oldKeys[i]);
+        while (keys[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
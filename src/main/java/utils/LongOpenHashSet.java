@@ -0,0 +1,111 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing (linear probing) set of longs backed by a single long[], so each entry costs
+ * 8-16 bytes instead of the ~50 of a boxed HashSet entry.  0 marks a free slot, the value 0
+ * itself is tracked with a flag.
+ */
+public class LongOpenHashSet implements LongSet {
+
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private int mask;
+  private int size;
+  private int resizeAt;
+  private boolean containsZero;
+
+  public LongOpenHashSet() {
+    this(16);
+  }
+
+  public LongOpenHashSet(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  @Override
+  public boolean add(long value) {
+    if (value == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int slot = slot(value);
+    while (keys[slot] != 0) {
+      if (keys[slot] == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = value;
+    if (++size > resizeAt) {
+      rehash(keys.length << 1);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean contains(long value) {
+    if (value == 0) {
+      return containsZero;
+    }
+    int slot = slot(value);
+    while (keys[slot] != 0) {
+      if (keys[slot] == value) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long memoryBytes() {
+    return (long) keys.length * Long.BYTES;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    containsZero = false;
+    size = 0;
+  }
+
+  private int slot(long value) {
+    long hash = value * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    mask = capacity - 1;
+    resizeAt = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void rehash(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalStateException("set is too large to grow");
+    }
+    long[] old = keys;
+    allocate(capacity);
+    for (long key : old) {
+      if (key != 0) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+      }
+    }
+  }
+}
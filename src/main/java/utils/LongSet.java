@@ -0,0 +1,21 @@
+package utils;
+
+/**
+ * A set of primitive longs, for tracking visited states without boxing every value.
+ */
+public interface LongSet {
+
+  /**
+   * @return true if the value was not in the set yet
+   */
+  boolean add(long value);
+
+  boolean contains(long value);
+
+  int size();
+
+  /**
+   * @return bytes held by the set's tables, not counting the object headers
+   */
+  long memoryBytes();
+}
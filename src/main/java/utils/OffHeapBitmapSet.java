@@ -0,0 +1,103 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * One bit per value over a window of longs, held in a direct buffer so very large ranges stay
+ * off the java heap.  The window grows (at least doubling) in whichever direction a new value
+ * falls outside it, up to 2^34 values.  Best for dense values, like a walk of small steps;
+ * use {@link LongOpenHashSet} for sparse ones.
+ */
+public class OffHeapBitmapSet implements LongSet {
+
+  private static final int MAX_WORDS = Integer.MAX_VALUE / Long.BYTES;
+
+  private ByteBuffer words;
+  /** first value of the window, always a multiple of 64 */
+  private long base;
+  private int size;
+
+  public OffHeapBitmapSet() {
+    this(0, 1 << 16);
+  }
+
+  /**
+   * @param center value to build the first window around
+   * @param bits initial width of the window
+   */
+  public OffHeapBitmapSet(long center, int bits) {
+    int wordCount = Math.max(1, bits >>> 6);
+    words = allocate(wordCount);
+    base = Math.floorDiv(center, 64) * 64 - (long) (wordCount / 2) * 64;
+  }
+
+  @Override
+  public boolean add(long value) {
+    if (value < base || value - base >= capacity()) {
+      grow(value);
+    }
+    long offset = value - base;
+    int index = (int) (offset >>> 6) * Long.BYTES;
+    long word = words.getLong(index);
+    long bit = 1L << offset;
+    if ((word & bit) != 0) {
+      return false;
+    }
+    words.putLong(index, word | bit);
+    size++;
+    return true;
+  }
+
+  @Override
+  public boolean contains(long value) {
+    if (value < base || value - base >= capacity()) {
+      return false;
+    }
+    long offset = value - base;
+    return (words.getLong((int) (offset >>> 6) * Long.BYTES) & 1L << offset) != 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long memoryBytes() {
+    return words.capacity();
+  }
+
+  private long capacity() {
+    return (long) words.capacity() << 3;
+  }
+
+  private void grow(long value) {
+    int oldWords = words.capacity() / Long.BYTES;
+    long newBase = base;
+    long end = base + capacity();
+    long wanted = Math.max(2L * oldWords, 1);
+    if (value < base) {
+      long needed = (end - Math.floorDiv(value, 64) * 64) >>> 6;
+      wanted = Math.max(wanted, needed);
+      newBase = end - wanted * 64;
+    } else {
+      long needed = (Math.floorDiv(value, 64) * 64 + 64 - base) >>> 6;
+      wanted = Math.max(wanted, needed);
+    }
+    if (wanted > MAX_WORDS) {
+      throw new IllegalStateException("bitmap range too large for " + value);
+    }
+    ByteBuffer grown = allocate((int) wanted);
+    int shift = (int) ((base - newBase) >>> 6) * Long.BYTES;
+    for (int i = 0; i < oldWords * Long.BYTES; i += Long.BYTES) {
+      grown.putLong(shift + i, words.getLong(i));
+    }
+    words = grown;
+    base = newBase;
+  }
+
+  private static ByteBuffer allocate(int wordCount) {
+    return ByteBuffer.allocateDirect(wordCount * Long.BYTES).order(ByteOrder.nativeOrder());
+  }
+}
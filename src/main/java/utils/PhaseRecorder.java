@@ -0,0 +1,184 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Records wall time, cpu time and allocated bytes for named phases of a solve (parse, build,
+ * simulate, answer...).  Phases opened inside another phase are recorded under its name, e.g.
+ * "simulate/fillCost", and repeated phases are summed.  A phase started while one of the same
+ * name is already open is not recorded again, its time is already counted by the outer one.
+ *
+ * Cpu time and allocations are summed over the calling thread and the fork/join workers a
+ * parallel phase runs on (the common pool, and the caller's own pool when it is a worker).
+ * Other solves running in those pools at the same time are counted too, so run one solve at a
+ * time for exact per phase numbers.
+ *
+ * A recorder belongs to one solve on one thread.  When nothing is recording use
+ * {@link Phase#NOOP} so instrumented code costs next to nothing.
+ */
+public class PhaseRecorder {
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+  private final Deque<String> path = new ArrayDeque<>();
+
+  public Phase start(String name) {
+    for (String open : path) {
+      if (open.equals(name) || open.endsWith("/" + name)) {
+        return Phase.NOOP;
+      }
+    }
+    String fullName = path.isEmpty() ? name : path.peek() + "/" + name;
+    path.push(fullName);
+    return new RecordingPhase(fullName);
+  }
+
+  /**
+   * @return stats per phase name in the order the phases first started
+   */
+  public Map<String, PhaseStats> getPhases() {
+    return phases;
+  }
+
+  /**
+   * @return sorted ids of the calling thread and the fork/join workers its phases can run on
+   */
+  private static long[] threadIds() {
+    ThreadGroup root = Thread.currentThread().getThreadGroup();
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    Thread[] threads = new Thread[root.activeCount() * 2 + 1];
+    int count = root.enumerate(threads);
+    ForkJoinPool own = ForkJoinTask.getPool();
+    long[] ids = new long[count + 1];
+    int size = 0;
+    ids[size++] = Thread.currentThread().getId();
+    for (int i = 0; i < count; i++) {
+      if (threads[i] instanceof ForkJoinWorkerThread && threads[i] != Thread.currentThread()) {
+        ForkJoinPool pool = ((ForkJoinWorkerThread) threads[i]).getPool();
+        if (pool == ForkJoinPool.commonPool() || pool == own) {
+          ids[size++] = threads[i].getId();
+        }
+      }
+    }
+    ids = Arrays.copyOf(ids, size);
+    Arrays.sort(ids);
+    return ids;
+  }
+
+  /**
+   * @return cpu nanos of each thread, -1 where unknown (e.g. the thread has died)
+   */
+  private static long[] cpuTimes(long[] ids) {
+    if (THREADS instanceof com.sun.management.ThreadMXBean && THREADS.isThreadCpuTimeEnabled()) {
+      return ((com.sun.management.ThreadMXBean) THREADS).getThreadCpuTime(ids);
+    }
+    return new long[ids.length];
+  }
+
+  private static long[] allocatedBytes(long[] ids) {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(ids);
+    }
+    return new long[ids.length];
+  }
+
+  /**
+   * @return the growth of each thread's counter since the start values, threads that started
+   * during the phase count from 0
+   */
+  private static long sumSince(long[] startIds, long[] start, long[] endIds, long[] end) {
+    long sum = 0;
+    for (int i = 0; i < endIds.length; i++) {
+      if (end[i] < 0) {
+        continue;
+      }
+      int at = Arrays.binarySearch(startIds, endIds[i]);
+      sum += end[i] - (at >= 0 && start[at] >= 0 ? start[at] : 0);
+    }
+    return sum;
+  }
+
+  /**
+   * An open phase, close it (try-with-resources) when the phase is done.
+   */
+  public interface Phase extends AutoCloseable {
+
+    Phase NOOP = () -> {};
+
+    @Override
+    void close();
+  }
+
+  private class RecordingPhase implements Phase {
+    private final String name;
+    private final long[] ids = threadIds();
+    private final long[] cpuStart = cpuTimes(ids);
+    private final long[] allocatedStart = allocatedBytes(ids);
+    private final long wallStart = System.nanoTime();
+
+    RecordingPhase(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      long wall = System.nanoTime() - wallStart;
+      long[] endIds = threadIds();
+      long cpu = sumSince(ids, cpuStart, endIds, cpuTimes(endIds));
+      long allocated = sumSince(ids, allocatedStart, endIds, allocatedBytes(endIds));
+      path.pop();
+      phases.computeIfAbsent(name, PhaseStats::new).add(wall, cpu, allocated);
+    }
+  }
+
+  public static class PhaseStats {
+    private final String name;
+    private long count;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+
+    PhaseStats(String name) {
+      this.name = name;
+    }
+
+    void add(long wall, long cpu, long allocated) {
+      count++;
+      wallNanos += wall;
+      cpuNanos += cpu;
+      allocatedBytes += allocated;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getWallNanos() {
+      return wallNanos;
+    }
+
+    public long getCpuNanos() {
+      return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+  }
+}
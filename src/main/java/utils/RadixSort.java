@@ -0,0 +1,59 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort of primitive longs, a byte per pass, for sorting millions of packed keys
+ * without comparisons or boxing.  Passes where every key has the same byte are skipped, so keys
+ * that only use their low bits cost only as many passes as they need.
+ */
+public final class RadixSort {
+
+  private RadixSort() {
+  }
+
+  public static void sort(long[] keys) {
+    sort(keys, keys.length);
+  }
+
+  /**
+   * sort keys[0, length) ascending, as signed longs
+   */
+  public static void sort(long[] keys, int length) {
+    if (length < 2) {
+      return;
+    }
+    long[] from = keys;
+    long[] to = new long[length];
+    int[] counts = new int[256];
+    for (int shift = 0; shift < 64; shift += 8) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < length; i++) {
+        counts[digit(from[i], shift)]++;
+      }
+      if (counts[digit(from[0], shift)] == length) {
+        continue;
+      }
+      int total = 0;
+      for (int d = 0; d < 256; d++) {
+        int count = counts[d];
+        counts[d] = total;
+        total += count;
+      }
+      for (int i = 0; i < length; i++) {
+        to[counts[digit(from[i], shift)]++] = from[i];
+      }
+      long[] swap = from;
+      from = to;
+      to = swap;
+    }
+    if (from != keys) {
+      System.arraycopy(from, 0, keys, 0, length);
+    }
+  }
+
+  /** the sign bit is flipped so negative keys sort first */
+  private static int digit(long key, int shift) {
+    return (int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+  }
+}
@@ -0,0 +1,85 @@
+package puzzles;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The pigeonhole index against comparing every pair of ids.
+ */
+public class BoxIdIndexTest {
+
+  @Test
+  public void findsEveryPairWithinTheDistance() {
+    Random random = new Random(8);
+    for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+      List<String> ids = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        //a small alphabet and a few lengths so there are plenty of near matches
+        int length = 4 + random.nextInt(3);
+        StringBuilder id = new StringBuilder();
+        for (int c = 0; c < length; c++) {
+          id.append((char) ('a' + random.nextInt(3)));
+        }
+        ids.add(id.toString());
+      }
+
+      Set<String> expected = new HashSet<>();
+      for (int b = 0; b < ids.size(); b++) {
+        for (int a = 0; a < b; a++) {
+          int distance = hamming(ids.get(a), ids.get(b));
+          if (distance <= maxDistance) {
+            expected.add(a + "," + b + "," + distance);
+          }
+        }
+      }
+
+      BoxIdIndex index = new BoxIdIndex(maxDistance);
+      List<String> found = new ArrayList<>();
+      for (String id : ids) {
+        index.insert(id, (a, b, distance) -> found.add(a + "," + b + "," + distance));
+      }
+      assertEquals("distance " + maxDistance, expected, new HashSet<>(found));
+      assertEquals("pairs reported once", expected.size(), found.size());
+    }
+  }
+
+  @Test
+  public void queryLeavesTheIndexAlone() {
+    BoxIdIndex index = new BoxIdIndex(1);
+    index.insert("fghij");
+    index.insert("fguij");
+    List<Integer> rows = new ArrayList<>();
+    index.query("fgxij", (a, b, distance) -> {
+      assertEquals(-1, b);
+      rows.add(a);
+    });
+    assertTrue(rows.contains(0) && rows.contains(1));
+    assertEquals(2, index.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeDistances() {
+    new BoxIdIndex(-1);
+  }
+
+  private static int hamming(String a, String b) {
+    if (a.length() != b.length()) {
+      return Integer.MAX_VALUE;
+    }
+    int distance = 0;
+    for (int i = 0; i < a.length(); i++) {
+      if (a.charAt(i) != b.charAt(i)) {
+        distance++;
+      }
+    }
+    return distance;
+  }
+}
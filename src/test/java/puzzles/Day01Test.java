@@ -0,0 +1,72 @@
+package puzzles;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class Day01Test {
+
+  @Test
+  public void examples() {
+    assertEquals(Long.valueOf(2), Day01.firstRepeat(sums(1, -2, 3, 1)));
+    assertEquals(Long.valueOf(0), Day01.firstRepeat(sums(1, -1)));
+    assertEquals(Long.valueOf(10), Day01.firstRepeat(sums(3, 3, 4, -2, -4)));
+    assertEquals(Long.valueOf(5), Day01.firstRepeat(sums(-6, 3, 8, 5, -6)));
+    assertEquals(Long.valueOf(14), Day01.firstRepeat(sums(7, 7, -2, -7, -4)));
+  }
+
+  @Test
+  public void noRepeatWhenEveryPassClimbs() {
+    assertNull(Day01.firstRepeat(sums(1, 2, 3)));
+    assertNull(Day01.firstRepeat(sums(-5)));
+  }
+
+  /**
+   * against replaying the changes, on lists whose repeat only comes after many passes
+   */
+  @Test
+  public void matchesReplayingTheList() {
+    Random random = new Random(9);
+    for (int round = 0; round < 500; round++) {
+      int[] changes = new int[1 + random.nextInt(10)];
+      int range = 1 + random.nextInt(round % 2 == 0 ? 20 : 100_000);
+      for (int i = 0; i < changes.length; i++) {
+        changes[i] = random.nextInt(2 * range + 1) - range;
+      }
+      if (round % 7 == 0) {
+        changes[0] = random.nextBoolean() ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+      }
+      Long expected = replay(changes, 5000);
+      Long actual = Day01.firstRepeat(sums(changes));
+      if (expected != null) {
+        assertEquals(expected, actual);
+      }
+    }
+  }
+
+  private static Long replay(int[] changes, int passes) {
+    Set<Long> seen = new HashSet<>();
+    long frequency = 0;
+    seen.add(frequency);
+    for (long step = 0; step < (long) passes * changes.length; step++) {
+      frequency += changes[(int) (step % changes.length)];
+      if (!seen.add(frequency)) {
+        return frequency;
+      }
+    }
+    return null;
+  }
+
+  private static long[] sums(int... changes) {
+    long[] sums = new long[changes.length + 1];
+    for (int i = 0; i < changes.length; i++) {
+      sums[i + 1] = sums[i] + changes[i];
+    }
+    return sums;
+  }
+}
@@ -0,0 +1,75 @@
+package puzzles;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The fabric, the tiles and the sweep are three ways to the same answers, so they are checked
+ * against each other on the puzzle's example and on random claims.
+ */
+public class Day03Test {
+
+  @Test
+  public void example() throws IOException {
+    String claims = "#1 @ 1,3: 4x4\n#2 @ 3,1: 4x4\n#3 @ 5,5: 2x2\n";
+    for (Day03.Engine engine : Day03.Engine.values()) {
+      assertEquals(engine.name(), "4", solve(claims, engine, 1));
+      assertEquals(engine.name(), "3", solve(claims, engine, 2));
+    }
+  }
+
+  @Test
+  public void touchingClaimsDoNotOverlap() throws IOException {
+    String claims = "#1 @ 0,0: 3x3\n#2 @ 3,0: 3x3\n#3 @ 0,3: 6x1\n";
+    for (Day03.Engine engine : Day03.Engine.values()) {
+      assertEquals(engine.name(), "0", solve(claims, engine, 1));
+      assertEquals(engine.name(), "1", solve(claims, engine, 2));
+    }
+  }
+
+  @Test
+  public void enginesAgreeOnRandomClaims() throws IOException {
+    Random random = new Random(3);
+    for (int round = 0; round < 50; round++) {
+      //sheets from a few inches up to several tiles, dense enough to overlap a lot
+      int sheet = 5 + random.nextInt(round < 25 ? 40 : 600);
+      int count = 1 + random.nextInt(round < 25 ? 12 : 300);
+      StringBuilder claims = new StringBuilder();
+      for (int id = 1; id <= count; id++) {
+        int width = 1 + random.nextInt(Math.max(1, sheet / 4));
+        int height = 1 + random.nextInt(Math.max(1, sheet / 4));
+        claims.append(String.format("#%d @ %d,%d: %dx%d%n", id, random.nextInt(sheet),
+                random.nextInt(sheet), width, height));
+      }
+      String input = claims.toString();
+      for (int part = 1; part <= 2; part++) {
+        String expected = solve(input, Day03.Engine.FABRIC, part);
+        assertEquals("tiles, part " + part + " of\n" + input, expected,
+                solve(input, Day03.Engine.TILES, part));
+        assertEquals("sweep, part " + part + " of\n" + input, expected,
+                solve(input, Day03.Engine.SWEEP, part));
+      }
+    }
+  }
+
+  private static String solve(String claims, Day03.Engine engine, int part) throws IOException {
+    File input = File.createTempFile("day03-", ".txt");
+    try {
+      try (PrintWriter out = new PrintWriter(input, "UTF-8")) {
+        out.print(claims);
+      }
+      Day03 day = new Day03();
+      day.setInputFileName(input.getAbsolutePath());
+      day.setEngine(engine);
+      return (part == 1 ? day.solvePart1() : day.solvePart2()).toString();
+    } finally {
+      input.delete();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package puzzles;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GuardLogTest {
+
+  @Test
+  public void keysUnpackToTheirFields() {
+    long key = GuardLog.key(1518, 11, 5, 0, 45, GuardLog.WAKE_UP, (1 << 28) - 1);
+    assertEquals(LocalDate.of(1518, 11, 5), GuardLog.dateOf(key));
+    assertEquals(45, GuardLog.minuteOf(key));
+    assertEquals(GuardLog.WAKE_UP, GuardLog.eventOf(key));
+    assertEquals((1 << 28) - 1, GuardLog.guardOf(key));
+  }
+
+  @Test
+  public void keysSortInTimeOrder() {
+    long[] ordered = {
+            GuardLog.key(1518, 2, 28, 23, 58, GuardLog.BEGIN_SHIFT, 99),
+            GuardLog.key(1518, 3, 1, 0, 0, GuardLog.FALL_ASLEEP, 0),
+            GuardLog.key(1518, 3, 1, 0, 0, GuardLog.WAKE_UP, 0),
+            GuardLog.key(1518, 3, 1, 0, 1, GuardLog.BEGIN_SHIFT, 1),
+            GuardLog.key(1519, 1, 1, 0, 0, GuardLog.BEGIN_SHIFT, 1),
+            GuardLog.key(9999, 12, 31, 23, 59, GuardLog.WAKE_UP, (1 << 28) - 1)
+    };
+    for (int i = 1; i < ordered.length; i++) {
+      assertTrue(ordered[i - 1] + " before " + ordered[i], ordered[i - 1] < ordered[i]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeGuardIds() {
+    GuardLog.key(1518, 1, 1, 0, 0, GuardLog.BEGIN_SHIFT, -1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsGuardIdsPastTheirBits() {
+    GuardLog.key(1518, 1, 1, 0, 0, GuardLog.BEGIN_SHIFT, 1 << 28);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsTimesPastTheirBits() {
+    GuardLog.key(20000, 1, 1, 0, 0, GuardLog.BEGIN_SHIFT, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeTimes() {
+    GuardLog.key(-1, 1, 1, 0, 0, GuardLog.BEGIN_SHIFT, 1);
+  }
+}
@@ -0,0 +1,69 @@
+package puzzles;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SleepStoreTest {
+
+  /** guard 10 naps 25 minutes, guard 99 naps 10 and guard 7 naps 1 */
+  private static SleepStore store() {
+    long[] keys = {
+            GuardLog.key(1518, 11, 1, 0, 0, GuardLog.BEGIN_SHIFT, 10),
+            GuardLog.key(1518, 11, 1, 0, 5, GuardLog.FALL_ASLEEP, 0),
+            GuardLog.key(1518, 11, 1, 0, 25, GuardLog.WAKE_UP, 0),
+            GuardLog.key(1518, 11, 1, 23, 58, GuardLog.BEGIN_SHIFT, 99),
+            GuardLog.key(1518, 11, 2, 0, 40, GuardLog.FALL_ASLEEP, 0),
+            GuardLog.key(1518, 11, 2, 0, 50, GuardLog.WAKE_UP, 0),
+            GuardLog.key(1518, 11, 3, 0, 5, GuardLog.BEGIN_SHIFT, 10),
+            GuardLog.key(1518, 11, 3, 0, 24, GuardLog.FALL_ASLEEP, 0),
+            GuardLog.key(1518, 11, 3, 0, 29, GuardLog.WAKE_UP, 0),
+            GuardLog.key(1518, 11, 4, 0, 0, GuardLog.BEGIN_SHIFT, 7),
+            GuardLog.key(1518, 11, 4, 0, 30, GuardLog.FALL_ASLEEP, 0),
+            GuardLog.key(1518, 11, 4, 0, 31, GuardLog.WAKE_UP, 0)
+    };
+    Arrays.sort(keys);
+    return SleepStore.fromSortedKeys(keys, keys.length);
+  }
+
+  @Test
+  public void topGuardsSleepiestFirst() {
+    SleepStore store = store();
+    assertArrayEquals(new int[]{10}, store.topSleepiestGuards(1));
+    assertArrayEquals(new int[]{10, 99}, store.topSleepiestGuards(2));
+    assertArrayEquals(new int[]{10, 99, 7}, store.topSleepiestGuards(5));
+    assertEquals(25, store.totalAsleep(10));
+    assertEquals(0, store.totalAsleep(1234));
+  }
+
+  @Test
+  public void noGuardsForZeroOrAnEmptyStore() {
+    assertArrayEquals(new int[0], store().topSleepiestGuards(0));
+    assertArrayEquals(new int[0], SleepStore.fromSortedKeys(new long[0], 0).topSleepiestGuards(3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeCounts() {
+    store().topSleepiestGuards(-1);
+  }
+
+  @Test
+  public void histogramsCoverTheirDates() {
+    SleepStore store = store();
+    int[] guard10 = store.histogram(10);
+    assertEquals(2, guard10[24]);
+    assertEquals(1, guard10[5]);
+    assertEquals(0, guard10[29]);
+    assertEquals(24, SleepStore.sleepiestMinute(guard10));
+
+    LocalDate second = LocalDate.of(1518, 11, 2);
+    int[] day2 = store.histogram(second, second);
+    assertEquals(1, day2[45]);
+    assertEquals(0, day2[10]);
+    assertEquals(0, store.histogram(10, second, second)[10]);
+  }
+}
@@ -0,0 +1,134 @@
+package utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class InputCacheTest {
+
+  private File input;
+  private final AtomicInteger parses = new AtomicInteger();
+
+  @Before
+  public void setUp() throws IOException {
+    input = File.createTempFile("cache-", ".txt");
+    Files.write(input.toPath(), new byte[10_000]);
+  }
+
+  @After
+  public void tearDown() {
+    input.delete();
+  }
+
+  @Test
+  public void hitsReturnTheParsedModel() throws IOException {
+    InputCache cache = new InputCache(1 << 20);
+    Object first = cache.get(input.getPath(), "model", this::parse);
+    assertSame(first, cache.get(input.getPath(), "model", this::parse));
+    assertEquals(1, parses.get());
+    assertNotSame(first, cache.get(input.getPath(), "other", this::parse));
+    assertEquals(2, parses.get());
+  }
+
+  @Test
+  public void changedFilesAreParsedAgain() throws IOException {
+    InputCache cache = new InputCache(1 << 20);
+    Object first = cache.get(input.getPath(), "model", this::parse);
+    Files.write(input.toPath(), new byte[10_001]);
+    assertNotSame(first, cache.get(input.getPath(), "model", this::parse));
+    assertEquals(2, parses.get());
+  }
+
+  @Test
+  public void dropsTheLeastRecentlyUsedPastItsSize() throws IOException {
+    //room for two models of a 10000 byte input
+    InputCache cache = new InputCache(25_000);
+    Object a = cache.get(input.getPath(), "a", this::parse);
+    cache.get(input.getPath(), "b", this::parse);
+    cache.get(input.getPath(), "a", this::parse);
+    cache.get(input.getPath(), "c", this::parse);
+    assertEquals(2, cache.size());
+    assertSame(a, cache.get(input.getPath(), "a", this::parse));
+    cache.get(input.getPath(), "b", this::parse);
+    assertEquals(4, parses.get());
+  }
+
+  @Test
+  public void modelsTooLargeForTheCacheAreNotKept() throws IOException {
+    InputCache cache = new InputCache(1000);
+    cache.get(input.getPath(), "model", this::parse);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void failedAndNullParsesAreNotCached() throws IOException {
+    InputCache cache = new InputCache(1 << 20);
+    try {
+      cache.get(input.getPath(), "model", () -> {
+        throw new IllegalStateException("parse failed");
+      });
+      fail("the parse failure should reach the caller");
+    } catch (IllegalStateException expected) {
+      //expected
+    }
+    assertNull(cache.get(input.getPath(), "model", () -> null));
+    assertEquals(0, cache.size());
+    cache.get(input.getPath(), "model", this::parse);
+    assertEquals(1, parses.get());
+  }
+
+  @Test
+  public void concurrentMissesParseOnce() throws Exception {
+    InputCache cache = new InputCache(1 << 20);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Object>> models = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        models.add(executor.submit(() -> cache.get(input.getPath(), "model", () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return parse();
+        })));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<Object> model : models) {
+        assertSame(models.get(0).get(), model.get());
+      }
+      assertEquals(1, parses.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void missingInputsAreAnError() throws IOException {
+    new InputCache(1 << 20).get(input.getPath() + ".missing", "model", this::parse);
+  }
+
+  private Object parse() {
+    parses.incrementAndGet();
+    return new Object();
+  }
+}
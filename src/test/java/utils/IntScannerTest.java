@@ -0,0 +1,62 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class IntScannerTest {
+
+  @Test
+  public void signsOnlyCountInFrontOfNumbers() {
+    assertArrayEquals(new int[]{1518, 11, 1, 0, 5}, scan("[1518-11-01 00:05]", 5));
+    assertArrayEquals(new int[]{-3, -4, 7}, scan("position=< -3,-4> velocity=<+7", 3));
+    assertArrayEquals(new int[]{1, 3, 2, 4, 4}, scan("#1 @ 3,2: 4x4", 5));
+  }
+
+  @Test
+  public void readsTheIntLimits() {
+    assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0},
+            scan("2147483647 -2147483648 -0", 3));
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void rejectsIntsPastMaxValue() {
+    new IntScanner("x 2147483648 y").nextInt();
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void rejectsIntsPastMinValue() {
+    new IntScanner("-2147483649").nextInt();
+  }
+
+  @Test
+  public void runsOutOfInts() {
+    IntScanner scanner = new IntScanner("a1b");
+    assertEquals(1, scanner.nextInt());
+    assertFalse(scanner.hasNextInt());
+    try {
+      scanner.nextInt();
+      fail("no ints left");
+    } catch (NoSuchElementException expected) {
+      //expected
+    }
+  }
+
+  @Test
+  public void findsSingleCharacterTokens() {
+    IntScanner scanner = new IntScanner("Step C must be finished before step A can begin.");
+    assertEquals('C', scanner.nextCharToken());
+    assertEquals('A', scanner.nextCharToken());
+  }
+
+  private static int[] scan(String line, int count) {
+    int[] values = new int[count];
+    assertEquals(count, new IntScanner(line).nextInts(values, 0, count));
+    return values;
+  }
+}
@@ -0,0 +1,151 @@
+package utils;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LineCursorTest {
+
+  @Test
+  public void splitPiecesHoldEveryLineOnce() {
+    String text = lines(5000, new Random(1));
+    ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    for (int chunkBytes : new int[]{1, 7, 64, 1000, 1 << 20}) {
+      int[] chunks = LineCursor.split(buffer, chunkBytes);
+      assertEquals(buffer.position(), chunks[0]);
+      assertEquals(buffer.limit(), chunks[chunks.length - 1]);
+      List<String> read = new ArrayList<>();
+      for (int c = 0; c < chunks.length - 1; c++) {
+        assertTrue(chunks[c] == 0 || buffer.get(chunks[c] - 1) == '\n');
+        readAll(new LineCursor(buffer, chunks[c], chunks[c + 1]), read);
+      }
+      assertEquals("chunks of " + chunkBytes, splitLines(text), read);
+    }
+  }
+
+  @Test
+  public void regionsEndOnLineBreaks() throws IOException {
+    String text = lines(3000, new Random(2));
+    File file = write(text);
+    try {
+      for (long maxRegion : new long[]{16, 100, 4096, Integer.MAX_VALUE}) {
+        ByteBuffer[] regions = InputParser.mapRegions(file.getPath(), maxRegion);
+        List<String> read = new ArrayList<>();
+        long bytes = 0;
+        for (int r = 0; r < regions.length; r++) {
+          ByteBuffer region = regions[r];
+          assertTrue(region.remaining() <= maxRegion);
+          if (r < regions.length - 1) {
+            assertEquals('\n', region.get(region.limit() - 1));
+          }
+          bytes += region.remaining();
+          //and every region splits on its own, like Day01 does
+          int[] chunks = LineCursor.split(region, 37);
+          for (int c = 0; c < chunks.length - 1; c++) {
+            readAll(new LineCursor(region, chunks[c], chunks[c + 1]), read);
+          }
+        }
+        assertEquals(text.length(), bytes);
+        assertEquals("regions of " + maxRegion, splitLines(text), read);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void lastLineNeedsNoLineBreak() throws IOException {
+    File file = write("+1\n-2\r\n+3");
+    try {
+      ByteBuffer[] regions = InputParser.mapRegions(file.getPath(), 4);
+      assertEquals(3, regions.length);
+      long sum = 0;
+      for (ByteBuffer region : regions) {
+        LineCursor cursor = new LineCursor(region);
+        while (cursor.next()) {
+          sum += cursor.parseInt();
+        }
+      }
+      assertEquals(2, sum);
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void lineLongerThanARegionIsAnError() throws IOException {
+    File file = write("1\n123456789\n2\n");
+    try {
+      InputParser.mapRegions(file.getPath(), 5);
+      fail("a 10 byte line can't fit in 5 byte regions");
+    } catch (IOException expected) {
+      //expected
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void parseIntMatchesIntegerParseInt() {
+    String[] valid = {"0", "+0", "-0", "7", "+15", "-15", "2147483647", "-2147483648",
+            "+2147483647", "0002147483647"};
+    String[] invalid = {"", "+", "-", "2147483648", "-2147483649", "99999999999", "1x", "--1",
+            " 1"};
+    for (String text : valid) {
+      assertEquals(text, Integer.parseInt(text), cursor(text).parseInt());
+    }
+    for (String text : invalid) {
+      try {
+        cursor(text).parseInt();
+        fail(text + " should not parse");
+      } catch (NumberFormatException expected) {
+        //expected
+      }
+    }
+  }
+
+  private static LineCursor cursor(String line) {
+    LineCursor cursor = new LineCursor(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)));
+    cursor.next();
+    return cursor;
+  }
+
+  private static String lines(int count, Random random) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      text.append(random.nextInt(2001) - 1000).append(i % 10 == 0 ? "\r\n" : "\n");
+    }
+    return text.toString();
+  }
+
+  private static List<String> splitLines(String text) {
+    List<String> lines = new ArrayList<>();
+    for (String line : text.split("\n")) {
+      lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+    }
+    return lines;
+  }
+
+  private static void readAll(LineCursor cursor, List<String> into) {
+    while (cursor.next()) {
+      into.add(cursor.toString());
+    }
+  }
+
+  private static File write(String text) throws IOException {
+    File file = File.createTempFile("lines-", ".txt");
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+}
@@ -0,0 +1,61 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongIntOpenHashMapTest {
+
+  @Test
+  public void matchesHashMapThroughGrowth() {
+    LongIntOpenHashMap map = new LongIntOpenHashMap(1);
+    Map<Long, Integer> expected = new HashMap<>();
+    Random random = new Random(4);
+    for (int i = 0; i < 200_000; i++) {
+      //few enough distinct keys that puts often replace
+      long key = random.nextInt(50_000) - 25_000L;
+      int value = random.nextInt(Integer.MAX_VALUE);
+      Integer previous = expected.put(key, value);
+      assertEquals(previous == null ? LongIntOpenHashMap.NO_VALUE : previous,
+              map.put(key, value));
+      assertEquals(expected.size(), map.size());
+    }
+    for (long key = -25_001; key <= 25_001; key++) {
+      Integer value = expected.get(key);
+      assertEquals(value == null ? LongIntOpenHashMap.NO_VALUE : value, map.get(key));
+    }
+  }
+
+  @Test
+  public void putIfAbsentKeepsTheFirstValue() {
+    LongIntOpenHashMap map = new LongIntOpenHashMap();
+    for (long key = -1000; key <= 1000; key++) {
+      assertEquals(LongIntOpenHashMap.NO_VALUE, map.putIfAbsent(key * 7919, (int) key + 1000));
+    }
+    for (long key = -1000; key <= 1000; key++) {
+      assertEquals((int) key + 1000, map.putIfAbsent(key * 7919, 5));
+      assertEquals((int) key + 1000, map.get(key * 7919));
+    }
+    assertEquals(2001, map.size());
+  }
+
+  @Test
+  public void zeroKeyIsAnOrdinaryKey() {
+    LongIntOpenHashMap map = new LongIntOpenHashMap();
+    assertEquals(LongIntOpenHashMap.NO_VALUE, map.get(0));
+    assertEquals(LongIntOpenHashMap.NO_VALUE, map.put(0, 3));
+    assertEquals(3, map.put(0, 4));
+    assertEquals(4, map.putIfAbsent(0, 5));
+    assertEquals(4, map.get(0));
+    assertEquals(1, map.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeValues() {
+    new LongIntOpenHashMap().put(1, -1);
+  }
+}
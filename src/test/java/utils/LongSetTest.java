@@ -0,0 +1,104 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Both primitive sets against a boxed HashSet, through enough values to make them grow many
+ * times over.
+ */
+public class LongSetTest {
+
+  @Test
+  public void hashSetGrowsFromTheSmallestTable() {
+    checkAgainstHashSet(new LongOpenHashSet(1), walk(200_000, 1000));
+  }
+
+  @Test
+  public void hashSetTakesSparseValues() {
+    Random random = new Random(2);
+    long[] values = new long[100_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextLong();
+    }
+    values[17] = Long.MIN_VALUE;
+    values[18] = Long.MAX_VALUE;
+    checkAgainstHashSet(new LongOpenHashSet(), values);
+  }
+
+  @Test
+  public void hashSetTracksZeroApart() {
+    LongOpenHashSet set = new LongOpenHashSet();
+    assertFalse(set.contains(0));
+    assertTrue(set.add(0));
+    assertFalse(set.add(0));
+    assertTrue(set.contains(0));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  public void hashSetIsEmptyAfterClear() {
+    LongOpenHashSet set = new LongOpenHashSet();
+    long[] values = walk(10_000, 50);
+    for (long value : values) {
+      set.add(value);
+    }
+    set.add(0);
+    set.clear();
+    assertEquals(0, set.size());
+    for (long value : values) {
+      assertFalse(set.contains(value));
+    }
+    assertFalse(set.contains(0));
+    checkAgainstHashSet(set, values);
+  }
+
+  @Test
+  public void bitmapGrowsBothWays() {
+    OffHeapBitmapSet set = new OffHeapBitmapSet(0, 64);
+    checkAgainstHashSet(set, walk(200_000, 1000));
+  }
+
+  @Test
+  public void bitmapGrowsPastFarValues() {
+    OffHeapBitmapSet set = new OffHeapBitmapSet(0, 64);
+    checkAgainstHashSet(set, new long[]{0, 63, 64, -1, -64, -65, 1_000_000, -3_000_000, 5});
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void bitmapRejectsRangesItCannotHold() {
+    OffHeapBitmapSet set = new OffHeapBitmapSet();
+    set.add(0);
+    set.add(Long.MAX_VALUE / 2);
+  }
+
+  private static long[] walk(int length, int maxStep) {
+    Random random = new Random(1);
+    long[] values = new long[length];
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value += random.nextInt(2 * maxStep + 1) - maxStep;
+      values[i] = value;
+    }
+    return values;
+  }
+
+  private static void checkAgainstHashSet(LongSet set, long[] values) {
+    Set<Long> expected = new HashSet<>();
+    for (long value : values) {
+      assertEquals("add " + value, expected.add(value), set.add(value));
+      assertEquals(expected.size(), set.size());
+    }
+    for (long value : values) {
+      assertTrue(set.contains(value));
+      assertEquals(expected.contains(value + 1), set.contains(value + 1));
+    }
+  }
+}
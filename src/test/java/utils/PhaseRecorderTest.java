@@ -0,0 +1,35 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class PhaseRecorderTest {
+
+  @Test
+  public void nestedPhasesAreRecordedUnderTheirParent() {
+    PhaseRecorder recorder = new PhaseRecorder();
+    PhaseRecorder.Phase simulate = recorder.start("simulate");
+    for (int i = 0; i < 3; i++) {
+      recorder.start("fillCost").close();
+    }
+    simulate.close();
+    assertEquals(Arrays.asList("simulate/fillCost", "simulate"),
+            Arrays.asList(recorder.getPhases().keySet().toArray()));
+    assertEquals(3, recorder.getPhases().get("simulate/fillCost").getCount());
+  }
+
+  @Test
+  public void phasesAlreadyOpenAreNotRecordedAgain() {
+    PhaseRecorder recorder = new PhaseRecorder();
+    PhaseRecorder.Phase parse = recorder.start("parse");
+    PhaseRecorder.Phase read = recorder.start("read");
+    recorder.start("parse").close();
+    read.close();
+    parse.close();
+    assertEquals(Arrays.asList("parse/read", "parse"),
+            Arrays.asList(recorder.getPhases().keySet().toArray()));
+  }
+}
@@ -0,0 +1,38 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class RadixSortTest {
+
+  @Test
+  public void sortsLikeArraysSort() {
+    Random random = new Random(6);
+    for (int length : new int[]{0, 1, 2, 3, 100, 10_000}) {
+      long[] keys = new long[length];
+      for (int i = 0; i < length; i++) {
+        //mix of full width keys, negatives and keys that only differ in a few bytes
+        keys[i] = i % 3 == 0 ? random.nextLong() : random.nextInt(1000) - 500;
+      }
+      if (length > 2) {
+        keys[0] = Long.MIN_VALUE;
+        keys[1] = Long.MAX_VALUE;
+      }
+      long[] expected = keys.clone();
+      Arrays.sort(expected);
+      RadixSort.sort(keys);
+      assertArrayEquals("length " + length, expected, keys);
+    }
+  }
+
+  @Test
+  public void sortsOnlyThePrefix() {
+    long[] keys = {5, -1, 3, 9, 0};
+    RadixSort.sort(keys, 3);
+    assertArrayEquals(new long[]{-1, 3, 5, 9, 0}, keys);
+  }
+}